@@ -5,6 +5,7 @@ plugins {
   `java-library`
   `maven-publish`
   alias(libs.plugins.pkl)
+  alias(libs.plugins.jmh)
   alias(libs.plugins.nexusPublish)
   alias(libs.plugins.spotless)
   signing
@@ -60,6 +61,9 @@ java {
 dependencies {
   compileOnly(libs.springBoot)
   compileOnly(libs.spotbugsAnnotations)
+  compileOnly(libs.micrometerCore)
+  compileOnly(libs.springBootActuator)
+  compileOnly(libs.springBootActuatorAutoConfigure)
 
   annotationProcessor(libs.springBootAutoconfigureProcessor)
   compileOnly(libs.springBootAutoConfigure)
@@ -76,9 +80,14 @@ dependencies {
   testImplementation(libs.junitApi)
   testImplementation(libs.junitParams)
   testImplementation(libs.assertJ)
+  testImplementation(libs.micrometerCore)
+  testImplementation(libs.springBootActuator)
 
   testRuntimeOnly(libs.junitEngine)
   testRuntimeOnly(libs.junitLauncher)
+
+  jmh(libs.springBoot)
+  jmh(libs.springBootAutoConfigure)
 }
 
 pkl {
@@ -92,6 +101,48 @@ pkl {
   }
 }
 
+// evaluates the config files in `src/test/snapshot` at build time into snapshots loaded by
+// PklPropertySourceLoader; other test resources are evaluated when loaded
+val generateConfigSnapshots by tasks.registering(JavaExec::class) {
+  val resourcesDir = file("src/test/snapshot")
+  val outputDir = layout.buildDirectory.dir("generated/pkl/snapshots/test")
+  inputs.dir(resourcesDir)
+  outputs.dir(outputDir)
+  // not `sourceSets.test.runtimeClasspath`, which contains this task's output
+  classpath = sourceSets.main.get().runtimeClasspath + configurations.testRuntimeClasspath.get()
+  mainClass.set("org.pkl.spring.boot.PklSnapshotGenerator")
+  argumentProviders.add(CommandLineArgumentProvider {
+    listOf(resourcesDir.absolutePath, outputDir.get().asFile.absolutePath)
+  })
+}
+
+sourceSets.test {
+  resources.srcDir("src/test/snapshot")
+  resources.srcDir(generateConfigSnapshots)
+}
+
+jmh {
+  jmhVersion.set(libs.versions.jmh.get())
+  // report allocation rates alongside timings
+  profilers.add("gc")
+  resultFormat.set("JSON")
+  // for example, `./gradlew jmh -PjmhIncludes=ConfigBenchmark.getProperty`
+  providers.gradleProperty("jmhIncludes").orNull?.let { includes.add(it) }
+}
+
+// prints the estimated heap taken by flattened properties for large synthetic configs
+val propertyStorageReport by tasks.registering(JavaExec::class) {
+  classpath = sourceSets["jmh"].runtimeClasspath
+  mainClass.set("org.pkl.spring.boot.PropertyStorageReport")
+}
+
+// prints the startup time, CPU time, and loaded classes of an application without and with a Pkl
+// config file, and with engine mode `startup`
+val startupReport by tasks.registering(JavaExec::class) {
+  classpath = sourceSets["jmh"].runtimeClasspath
+  mainClass.set("org.pkl.spring.boot.StartupReport")
+}
+
 tasks.compileTestJava {
   // required by Boot 3.x (usually handled by Boot's Gradle plugin)
   options.compilerArgs = options.compilerArgs + "-parameters"
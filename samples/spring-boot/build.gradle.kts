@@ -31,3 +31,36 @@ pkl {
 tasks.check {
   dependsOn(tasks.named("bootRun"))
 }
+
+// AppCDS: a training run evaluates the Pkl config files and exits once the application context
+// has been refreshed, archiving the classes loaded so far for use by subsequent runs
+val cdsArchive = layout.buildDirectory.file("cds/application.jsa")
+// class data sharing requires a class path consisting of jar files
+val cdsClasspath = files(tasks.jar, configurations.runtimeClasspath)
+
+val pklTrainingRun by tasks.registering(JavaExec::class) {
+  classpath = cdsClasspath
+  mainClass.set("samples.boot.Application")
+  outputs.file(cdsArchive)
+  jvmArgumentProviders.add(CommandLineArgumentProvider {
+    listOf(
+      "-XX:ArchiveClassesAtExit=${cdsArchive.get().asFile}",
+      "-Dpkl.training.enabled=true",
+      "-Dspring.context.exit=onRefresh",
+    )
+  })
+}
+
+val runWithCds by tasks.registering(JavaExec::class) {
+  dependsOn(pklTrainingRun)
+  classpath = cdsClasspath
+  mainClass.set("samples.boot.Application")
+  jvmArgumentProviders.add(CommandLineArgumentProvider {
+    listOf("-XX:SharedArchiveFile=${cdsArchive.get().asFile}")
+  })
+}
+
+val runWithoutCds by tasks.registering(JavaExec::class) {
+  classpath = cdsClasspath
+  mainClass.set("samples.boot.Application")
+}
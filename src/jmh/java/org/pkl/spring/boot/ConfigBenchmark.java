@@ -0,0 +1,206 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pkl.core.Evaluator;
+import org.pkl.core.ModuleSource;
+import org.pkl.core.PModule;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.core.env.StandardEnvironment;
+
+/**
+ * Measures the stages that turn a Pkl config file into configuration: evaluating the config file,
+ * flattening the evaluated module, looking up a property with {@code Environment.getProperty} or
+ * {@link PklPropertyResolver}, and binding properties as {@code @ConfigurationProperties} would.
+ *
+ * <p>Config files are synthetic, with {@code size} leaf values arranged according to {@code shape}.
+ * Run with JMH's {@code gc} profiler (enabled in the build) to see allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ConfigBenchmark {
+  private static final int DEPTH = 16;
+
+  @Param({"deep", "wide", "listing", "scalars", "nulls"})
+  public String shape;
+
+  @Param({"10", "100", "1000"})
+  public int size;
+
+  private Evaluator evaluator;
+  private ModuleSource source;
+  private PModule module;
+  private StandardEnvironment environment;
+  private PklPropertyResolver propertyResolver;
+  private ApplicationConversionService conversionService;
+  private String[] keys;
+  private int nextKey;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    evaluator = Evaluator.preconfigured();
+    source = ModuleSource.text(generate(shape, size));
+    module = evaluator.evaluate(source);
+    var properties = PklPropertyMap.of(module.getProperties());
+    keys = properties.keySet().toArray(String[]::new);
+    environment = new StandardEnvironment();
+    environment.getConversionService().addConverter(new PklAutoConfiguration.PNullConverter());
+    environment
+        .getPropertySources()
+        .addLast(new PklMapPropertySource("application.pkl", properties, null, null));
+    propertyResolver = new PklPropertyResolver(environment);
+    conversionService = new ApplicationConversionService();
+    conversionService.addConverter(new PklAutoConfiguration.PNullConverter());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    evaluator.close();
+  }
+
+  @Benchmark
+  public PModule evaluate() {
+    return evaluator.evaluate(source);
+  }
+
+  @Benchmark
+  public Map<String, Object> flatten() {
+    return PklPropertyMap.of(module.getProperties());
+  }
+
+  /** Flattens with lists of scalar values referred to instead of copied. */
+  @Benchmark
+  public Map<String, Object> flattenWithListViews() {
+    return PklPropertyMap.of(module.getProperties(), 0);
+  }
+
+  /** Flattens into a {@link LinkedHashMap}, as {@link PklPropertySourceLoader} used to. */
+  @Benchmark
+  public Map<String, Object> flattenToMap() {
+    var result = new LinkedHashMap<String, Object>();
+    module
+        .getProperties()
+        .forEach((name, value) -> PklPropertySourceLoader.flatten(name, value, result::put));
+    return result;
+  }
+
+  @Benchmark
+  public String getProperty() {
+    var key = keys[nextKey];
+    nextKey = (nextKey + 1) % keys.length;
+    return environment.getProperty(key);
+  }
+
+  /** Looks up a property with {@link PklPropertyResolver}, skipping placeholder resolution. */
+  @Benchmark
+  public String getPropertyRaw() {
+    var key = keys[nextKey];
+    nextKey = (nextKey + 1) % keys.length;
+    return propertyResolver.getProperty(key);
+  }
+
+  @Benchmark
+  public void bind(Blackhole blackhole) {
+    var binder =
+        new Binder(
+            ConfigurationPropertySources.from(environment.getPropertySources()),
+            null,
+            conversionService);
+    blackhole.consume(binder.bind("root", bindable()).orElse(null));
+  }
+
+  /** Binds through the property tree index, as {@link PklConfigurationPropertiesBinder} does. */
+  @Benchmark
+  public void bindIndexed(Blackhole blackhole) {
+    var binder =
+        new Binder(
+            new PklConfigurationPropertySources(environment.getPropertySources()),
+            null,
+            conversionService);
+    blackhole.consume(binder.bind("root", bindable()).orElse(null));
+  }
+
+  private Bindable<?> bindable() {
+    return switch (shape) {
+      case "deep" -> Bindable.mapOf(String.class, Object.class);
+      case "listing" -> Bindable.listOf(Item.class);
+      case "scalars" -> Bindable.listOf(String.class);
+      default -> Bindable.mapOf(String.class, String.class);
+    };
+  }
+
+  /** Generates a config file with property {@code root} holding about {@code size} values. */
+  static String generate(String shape, int size) {
+    var builder = new StringBuilder();
+    switch (shape) {
+      case "deep" -> {
+        // chains of nested objects, each ending in a single value
+        builder.append("root = new Dynamic {\n");
+        for (var chain = 0; chain < Math.max(1, size / DEPTH); chain++) {
+          builder.append("  chain").append(chain).append(" = ");
+          for (var level = 1; level < DEPTH; level++) {
+            builder.append("new { level").append(level).append(" = ");
+          }
+          builder.append(chain).append(" }".repeat(DEPTH - 1)).append('\n');
+        }
+      }
+      case "wide" -> {
+        builder.append("root = new Mapping {\n");
+        for (var i = 0; i < size; i++) {
+          builder.append("  [\"key").append(i).append("\"] = \"value").append(i).append("\"\n");
+        }
+      }
+      case "listing" -> {
+        // two values per element
+        builder.append("root = new Listing {\n");
+        for (var i = 0; i < Math.max(1, size / 2); i++) {
+          builder.append("  new Dynamic { name = \"item").append(i).append('"');
+          builder.append("; port = ").append(8000 + i).append(" }\n");
+        }
+      }
+      case "scalars" -> {
+        // a listing of strings, such as an allowlist
+        builder.append("root = new Listing {\n");
+        for (var i = 0; i < size; i++) {
+          builder.append("  \"host").append(i).append(".example.com\"\n");
+        }
+      }
+      case "nulls" -> {
+        builder.append("root = new Mapping {\n");
+        for (var i = 0; i < size; i++) {
+          builder.append("  [\"key").append(i).append("\"] = ");
+          builder.append(i % 2 == 0 ? "null" : "\"value" + i + '"').append('\n');
+        }
+      }
+      default -> throw new IllegalArgumentException("Unknown shape: " + shape);
+    }
+    return builder.append("}\n").toString();
+  }
+
+  public record Item(String name, int port) {}
+}
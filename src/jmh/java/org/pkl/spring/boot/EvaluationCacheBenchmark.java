@@ -0,0 +1,139 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.pkl.core.EvaluatorBuilder;
+import org.pkl.core.ModuleSource;
+import org.pkl.core.PModule;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Measures the time it takes to obtain an evaluated config module with {@code endpointCount}
+ * endpoints.
+ *
+ * <p>{@code uncached} evaluates the module, {@code cold} evaluates it and writes a cache entry, and
+ * {@code warm} reads an existing cache entry. Each invocation creates a new evaluator, as an
+ * application startup does. Because the JVM is warmed up, these numbers understate the difference
+ * for a real startup, where evaluation additionally runs in the interpreter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(3)
+public class EvaluationCacheBenchmark {
+  @Param({"10", "1000"})
+  public int endpointCount;
+
+  private Path directory;
+  private Path cacheDir;
+  private Path application;
+  private String applicationText;
+  private final PklSettings settings = new PklSettings(new StandardEnvironment());
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("pkl-spring-benchmark");
+    cacheDir = directory.resolve("cache");
+    Files.writeString(
+        directory.resolve("AppConfig.pkl"),
+        """
+        module AppConfig
+
+        server: Server
+
+        class Server {
+          name: String
+          endpoints: Listing<Endpoint>
+        }
+
+        class Endpoint {
+          name: String
+          port: UInt16
+        }
+        """);
+    application = directory.resolve("application.pkl");
+    applicationText =
+        """
+        amends "AppConfig.pkl"
+
+        server {
+          name = "default"
+          endpoints {
+            for (i in IntSeq(1, %d)) {
+              new { name = "endpoint\\(i)"; port = 8000 + i %% 1000 }
+            }
+          }
+        }
+        """
+            .formatted(endpointCount);
+    Files.writeString(application, applicationText);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    FileSystemUtils.deleteRecursively(directory);
+  }
+
+  @State(Scope.Thread)
+  public static class ColdCache {
+    @Setup(Level.Invocation)
+    public void clear(EvaluationCacheBenchmark benchmark) throws IOException {
+      FileSystemUtils.deleteRecursively(benchmark.cacheDir);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class WarmCache {
+    @Setup(Level.Iteration)
+    public void populate(EvaluationCacheBenchmark benchmark) {
+      benchmark.evaluateCached();
+    }
+  }
+
+  @Benchmark
+  public PModule uncached() {
+    return evaluate();
+  }
+
+  @Benchmark
+  public PModule cold(ColdCache state) {
+    return evaluateCached();
+  }
+
+  @Benchmark
+  public PModule warm(WarmCache state) {
+    return evaluateCached();
+  }
+
+  private PModule evaluateCached() {
+    return new PklEvaluationCache(cacheDir, settings)
+        .evaluate(application.toUri(), applicationText, this::evaluate);
+  }
+
+  private PModule evaluate() {
+    try (var evaluator = EvaluatorBuilder.preconfigured().build()) {
+      return evaluator.evaluate(ModuleSource.path(application));
+    }
+  }
+}
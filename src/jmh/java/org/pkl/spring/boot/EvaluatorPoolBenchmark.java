@@ -0,0 +1,159 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pkl.core.EvaluatorBuilder;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Measures the time it takes to load {@code application.pkl} plus {@code profileCount}
+ * profile-specific config files, as Spring Boot does during startup.
+ *
+ * <p>Each invocation simulates one application startup. {@code fresh} creates a new evaluator for
+ * every config file, {@code pooled} reuses evaluators across config files, and {@code prefetched}
+ * additionally evaluates all config files concurrently before loading them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(3)
+public class EvaluatorPoolBenchmark {
+  @Param({"0", "2", "8"})
+  public int profileCount;
+
+  private PklSettings settings;
+  private Path directory;
+  private final List<Resource> resources = new ArrayList<>();
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    // measure evaluation rather than the JVM-wide module cache
+    var environment = new StandardEnvironment();
+    environment
+        .getPropertySources()
+        .addFirst(new MapPropertySource("benchmark", Map.of("pkl.module-cache.enabled", "false")));
+    settings = new PklSettings(environment);
+    directory = Files.createTempDirectory("pkl-spring-benchmark");
+    var schema = directory.resolve("AppConfig.pkl");
+    Files.writeString(
+        schema,
+        """
+        module AppConfig
+
+        server: Server
+
+        class Server {
+          name: String
+          endpoints: Listing<Endpoint>
+        }
+
+        class Endpoint {
+          name: String
+          port: UInt16
+        }
+        """);
+    var application = directory.resolve("application.pkl");
+    Files.writeString(
+        application,
+        """
+        amends "AppConfig.pkl"
+
+        server {
+          name = "default"
+          endpoints {
+            for (i in IntSeq(1, 20)) {
+              new { name = "endpoint\\(i)"; port = 8000 + i }
+            }
+          }
+        }
+        """);
+    resources.add(new FileSystemResource(application));
+    for (var i = 0; i < profileCount; i++) {
+      var profile = directory.resolve("application-profile" + i + ".pkl");
+      Files.writeString(
+          profile,
+          """
+          amends "application.pkl"
+
+          server {
+            name = "profile%d"
+          }
+          """
+              .formatted(i));
+      resources.add(new FileSystemResource(profile));
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    FileSystemUtils.deleteRecursively(directory);
+  }
+
+  @Benchmark
+  public void fresh(Blackhole blackhole) throws IOException {
+    load(Duration.ZERO, blackhole);
+  }
+
+  @Benchmark
+  public void pooled(Blackhole blackhole) throws IOException {
+    load(Duration.ofSeconds(30), blackhole);
+  }
+
+  @Benchmark
+  public void prefetched(Blackhole blackhole) throws IOException {
+    var parallelism = Runtime.getRuntime().availableProcessors();
+    try (var pool =
+        new PklEvaluatorPool(
+            () -> EvaluatorBuilder.preconfigured().build(), parallelism, Duration.ofSeconds(30))) {
+      var loader = new PklPropertySourceLoader(pool, settings);
+      var prefetcher = PklModulePrefetcher.start(resources, loader::loadModule, parallelism);
+      try {
+        for (var resource : resources) {
+          blackhole.consume(
+              loader.load(resource.getFilename(), resource, prefetcher.take(resource)));
+        }
+      } finally {
+        prefetcher.cancel();
+      }
+    }
+  }
+
+  private void load(Duration idleTimeout, Blackhole blackhole) throws IOException {
+    try (var pool =
+        new PklEvaluatorPool(() -> EvaluatorBuilder.preconfigured().build(), 1, idleTimeout)) {
+      var loader = new PklPropertySourceLoader(pool, settings);
+      for (var resource : resources) {
+        blackhole.consume(loader.load(resource.getFilename(), resource));
+      }
+    }
+  }
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.pkl.core.Evaluator;
+import org.pkl.core.ModuleSource;
+
+/**
+ * Reports the estimated heap taken by flattened properties stored in a {@link LinkedHashMap}, as
+ * {@link org.springframework.core.env.MapPropertySource}s usually do, in a {@link PklPropertyMap},
+ * and in a {@link PklPropertyMap} with list views, for the synthetic configs of {@link
+ * ConfigBenchmark}.
+ *
+ * <p>Run with {@code ./gradlew propertyStorageReport}. Sizes are estimated with {@link
+ * PklSizeEstimator} and include property names and values. Allocated bytes are measured while
+ * flattening, and bound the additional heap needed at that time.
+ */
+public class PropertyStorageReport {
+  public static void main(String[] args) {
+    var size = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+    System.out.printf(
+        "%-8s %10s %26s %26s %26s%n",
+        "shape", "properties", "map (bytes/alloc)", "compact (bytes/alloc)", "views (bytes/alloc)");
+    try (var evaluator = Evaluator.preconfigured()) {
+      for (var shape : new String[] {"deep", "wide", "listing", "scalars", "nulls"}) {
+        var module = evaluator.evaluate(ModuleSource.text(ConfigBenchmark.generate(shape, size)));
+        var properties = module.getProperties();
+        var map =
+            measure(
+                () -> {
+                  var result = new LinkedHashMap<String, Object>();
+                  properties.forEach(
+                      (name, value) -> PklPropertySourceLoader.flatten(name, value, result::put));
+                  return result;
+                });
+        var compact = measure(() -> PklPropertyMap.of(properties));
+        var views = measure(() -> PklPropertyMap.of(properties, 1000));
+        System.out.printf(
+            "%-8s %10d %26s %26s %26s%n", shape, map.result().size(), map, compact, views);
+      }
+    }
+  }
+
+  private static Measurement measure(Supplier<Map<String, Object>> flattener) {
+    var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    // warm up, so that allocation by class loading and compilation is not measured
+    for (var i = 0; i < 5; i++) flattener.get();
+    var before = threads.getCurrentThreadAllocatedBytes();
+    var result = flattener.get();
+    var allocated = threads.getCurrentThreadAllocatedBytes() - before;
+    return new Measurement(result, PklSizeEstimator.estimate(result), allocated);
+  }
+
+  private record Measurement(Map<String, Object> result, long size, long allocated) {
+    @Override
+    public String toString() {
+      return size + " / " + allocated;
+    }
+  }
+}
@@ -0,0 +1,150 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.lang.Nullable;
+
+/**
+ * Reports the startup time and loaded classes of a minimal application without a Pkl config file,
+ * with a Pkl config file, and with a Pkl config file evaluated in engine mode {@code startup}.
+ *
+ * <p>Run with {@code ./gradlew startupReport}. Each scenario starts a new JVM several times (10 by
+ * default) and reports averages. Startup time is measured from the start of {@code main} until the
+ * application context is ready, and CPU time is that of the whole process at that point. Classes
+ * are counted from the JVM's class loading log; Pkl classes are those of Pkl and Truffle, excluding
+ * this library's own classes. The config file is a synthetic config of {@link ConfigBenchmark}.
+ */
+public class StartupReport {
+  public static void main(String[] args) throws Exception {
+    if (args.length > 0 && args[0].equals("app")) {
+      runApp(args.length > 1 ? args[1] : null);
+      return;
+    }
+    var runs = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+    var configFile = Files.createTempFile("application", ".pkl");
+    try {
+      Files.writeString(configFile, ConfigBenchmark.generate("wide", 10_000));
+      System.out.printf(
+          "%-12s %12s %12s %10s %12s%n",
+          "config", "startup (ms)", "CPU (ms)", "classes", "Pkl classes");
+      report("none", runs, null, null);
+      report("pkl", runs, configFile, null);
+      report("pkl startup", runs, configFile, "startup");
+    } finally {
+      Files.delete(configFile);
+    }
+  }
+
+  private static void report(
+      String scenario, int runs, @Nullable Path configFile, @Nullable String engineMode)
+      throws IOException, InterruptedException {
+    var total = new Run(0, 0, 0, 0);
+    for (var i = 0; i < runs; i++) {
+      var run = start(configFile, engineMode);
+      total =
+          new Run(
+              total.startupNanos() + run.startupNanos(),
+              total.cpuNanos() + run.cpuNanos(),
+              total.classes() + run.classes(),
+              total.pklClasses() + run.pklClasses());
+    }
+    System.out.printf(
+        "%-12s %12.1f %12.1f %10d %12d%n",
+        scenario,
+        total.startupNanos() / 1e6 / runs,
+        total.cpuNanos() / 1e6 / runs,
+        total.classes() / runs,
+        total.pklClasses() / runs);
+  }
+
+  private static Run start(@Nullable Path configFile, @Nullable String engineMode)
+      throws IOException, InterruptedException {
+    var command = new ArrayList<String>();
+    command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+    command.add("-Xlog:class+load=info:stdout");
+    if (engineMode != null) command.add("-Dpkl.evaluator.engine-mode=" + engineMode);
+    command.addAll(
+        List.of(
+            "-cp", System.getProperty("java.class.path"), StartupReport.class.getName(), "app"));
+    if (configFile != null) command.add(configFile.toUri().toString());
+    var process = new ProcessBuilder(command).redirectErrorStream(true).start();
+    long startupNanos = -1;
+    long cpuNanos = -1;
+    var classes = 0;
+    var pklClasses = 0;
+    try (var reader =
+        new BufferedReader(
+            new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.contains("[class,load]")) {
+          classes++;
+          if (line.contains(" com.oracle.truffle.")
+              || line.contains(" org.pkl.") && !line.contains(" org.pkl.spring.")) {
+            pklClasses++;
+          }
+        } else if (line.startsWith("startup=")) {
+          startupNanos = Long.parseLong(line.substring("startup=".length()));
+        } else if (line.startsWith("cpu=")) {
+          cpuNanos = Long.parseLong(line.substring("cpu=".length()));
+        }
+      }
+    }
+    if (process.waitFor() != 0 || startupNanos == -1) {
+      throw new IllegalStateException("Application failed to start: " + command);
+    }
+    return new Run(startupNanos, cpuNanos, classes, pklClasses);
+  }
+
+  private static void runApp(@Nullable String configLocation) {
+    var startTime = System.nanoTime();
+    var application = new SpringApplication(App.class);
+    application.setWebApplicationType(WebApplicationType.NONE);
+    application.setBannerMode(Banner.Mode.OFF);
+    application.setLogStartupInfo(false);
+    var args =
+        configLocation == null
+            ? new String[0]
+            : new String[] {"--spring.config.additional-location=" + configLocation};
+    try (var context = application.run(args)) {
+      System.out.println("startup=" + (System.nanoTime() - startTime));
+      // includes compiler threads, unlike the startup time
+      var os =
+          (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+      System.out.println("cpu=" + os.getProcessCpuTime());
+    }
+  }
+
+  private record Run(long startupNanos, long cpuNanos, int classes, int pklClasses) {}
+
+  @SpringBootConfiguration(proxyBeanMethods = false)
+  @ImportAutoConfiguration(PklAutoConfiguration.class)
+  static class App {}
+}
@@ -0,0 +1,276 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import javax.lang.model.element.Modifier;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.pkl.core.DataSize;
+import org.pkl.core.DataSizeUnit;
+import org.pkl.core.Duration;
+import org.pkl.core.DurationUnit;
+import org.pkl.core.PNull;
+import org.pkl.core.Pair;
+import org.springframework.aot.generate.Generated;
+import org.springframework.aot.generate.GeneratedFiles;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.javapoet.ClassName;
+import org.springframework.javapoet.CodeBlock;
+import org.springframework.javapoet.JavaFile;
+import org.springframework.javapoet.MethodSpec;
+import org.springframework.javapoet.ParameterizedTypeName;
+import org.springframework.javapoet.TypeName;
+import org.springframework.javapoet.TypeSpec;
+import org.springframework.lang.Nullable;
+
+/**
+ * Evaluates the application's Pkl config files during Spring's ahead-of-time processing.
+ *
+ * <p>The flattened properties of every Pkl property source loaded from the class path are written
+ * into the generated class {@value PklAotProperties#GENERATED_CLASS_NAME}, which {@link
+ * PklAotProperties} uses at runtime instead of evaluating the config files. The config files
+ * themselves are registered as resources so that Spring Boot still finds them in a native image.
+ *
+ * <p>Config files outside the class path can change after the build and are evaluated at runtime as
+ * usual. So is a config file that reads environment variables or external properties, whose values
+ * on the build machine must not end up in generated code, a config file whose dependencies cannot
+ * be determined statically, and a config file with a value that cannot be written as code, such as
+ * a Pkl class or a very long string.
+ *
+ * <p>Registered in {@code META-INF/spring/aot.factories}.
+ */
+final class PklAotProcessor implements BeanFactoryInitializationAotProcessor {
+  private static final Log logger = LogFactory.getLog(PklAotProcessor.class);
+
+  // keeps generated methods below the JVM's 64 KB limit
+  private static final int PROPERTIES_PER_METHOD = 1000;
+  // keeps string constants below the JVM's 64 KB limit for any encoding
+  private static final int MAX_STRING_LENGTH = 16 * 1024;
+
+  private static final TypeName PROPERTIES_TYPE =
+      ParameterizedTypeName.get(Map.class, String.class, Object.class);
+
+  @Override
+  public @Nullable BeanFactoryInitializationAotContribution processAheadOfTime(
+      ConfigurableListableBeanFactory beanFactory) {
+    var environment = beanFactory.getBeanProvider(ConfigurableEnvironment.class).getIfAvailable();
+    if (environment == null) return null;
+    var resources = new ArrayList<ClassPathResource>();
+    var propertySources = collect(environment, resources);
+    if (propertySources.isEmpty()) return null;
+    return (generationContext, code) -> {
+      var content = generate(propertySources).toString().getBytes(StandardCharsets.UTF_8);
+      generationContext
+          .getGeneratedFiles()
+          .handleFile(
+              GeneratedFiles.Kind.SOURCE,
+              PklAotProperties.GENERATED_CLASS_NAME.replace('.', '/') + ".java",
+              (file) -> file.override(() -> new ByteArrayInputStream(content)));
+      var hints = generationContext.getRuntimeHints();
+      hints
+          .reflection()
+          .registerType(
+              TypeReference.of(PklAotProperties.GENERATED_CLASS_NAME),
+              MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+      for (var resource : resources) {
+        hints.resources().registerResource(resource);
+      }
+    };
+  }
+
+  /**
+   * Returns the flattened properties of the Pkl property sources that can be evaluated ahead of
+   * time, keyed by property source name, and adds their config files to {@code resources}.
+   */
+  static Map<String, Map<String, Object>> collect(
+      ConfigurableEnvironment environment, List<ClassPathResource> resources) {
+    var result = new LinkedHashMap<String, Map<String, Object>>();
+    for (var propertySource : environment.getPropertySources()) {
+      var loadInfo = PklLoadInfo.of(propertySource);
+      if (loadInfo == null
+          || !(loadInfo.getResource() instanceof ClassPathResource resource)
+          || !(propertySource instanceof EnumerablePropertySource<?> enumerable)) {
+        continue;
+      }
+      var runtimeReason = getRuntimeReason(resource);
+      if (runtimeReason != null) {
+        logger.info(
+            "Pkl config file `"
+                + resource.getPath()
+                + "` is evaluated at runtime because "
+                + runtimeReason
+                + '.');
+        continue;
+      }
+      var properties = new LinkedHashMap<String, Object>();
+      for (var name : enumerable.getPropertyNames()) {
+        var value = enumerable.getProperty(name);
+        if (value == null || toCode(value) == null) {
+          logger.info(
+              "Pkl config file `"
+                  + resource.getPath()
+                  + "` is evaluated at runtime because the value of property `"
+                  + name
+                  + "` cannot be written as code.");
+          properties = null;
+          break;
+        }
+        properties.put(name, value);
+      }
+      if (properties != null) {
+        result.put(propertySource.getName(), properties);
+        resources.add(resource);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns why the given config file must be evaluated at runtime based on its dependencies, or
+   * {@code null} if it can be evaluated ahead of time.
+   */
+  private static @Nullable String getRuntimeReason(ClassPathResource resource) {
+    try {
+      return PklModuleDependencies.getRuntimeReason(
+          resource.getURI(), resource.getContentAsString(StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      return "it cannot be read";
+    }
+  }
+
+  /** Generates the class that supplies the given property sources. */
+  static JavaFile generate(Map<String, Map<String, Object>> propertySources) {
+    var className = ClassName.bestGuess(PklAotProperties.GENERATED_CLASS_NAME);
+    var sourcesType =
+        ParameterizedTypeName.get(
+            ClassName.get(Map.class), TypeName.get(String.class), PROPERTIES_TYPE);
+    var type =
+        TypeSpec.classBuilder(className)
+            .addJavadoc("Pkl config files evaluated ahead of time.")
+            .addAnnotation(Generated.class)
+            .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+            .addSuperinterface(
+                ParameterizedTypeName.get(ClassName.get(Supplier.class), sourcesType));
+    var get =
+        MethodSpec.methodBuilder("get")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .returns(sourcesType)
+            .addStatement("$T result = new $T<>()", sourcesType, LinkedHashMap.class)
+            .addStatement("$T properties", PROPERTIES_TYPE);
+    var part = 0;
+    for (var propertySource : propertySources.entrySet()) {
+      var properties = propertySource.getValue();
+      get.addStatement("properties = new $T<>($L)", LinkedHashMap.class, properties.size());
+      MethodSpec.Builder put = null;
+      var count = 0;
+      for (var property : properties.entrySet()) {
+        if (count++ % PROPERTIES_PER_METHOD == 0) {
+          if (put != null) type.addMethod(put.build());
+          var name = "put" + part++;
+          get.addStatement("$L(properties)", name);
+          put =
+              MethodSpec.methodBuilder(name)
+                  .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                  .addParameter(PROPERTIES_TYPE, "properties");
+        }
+        put.addStatement("properties.put($S, $L)", property.getKey(), toCode(property.getValue()));
+      }
+      if (put != null) type.addMethod(put.build());
+      get.addStatement("result.put($S, properties)", propertySource.getKey());
+    }
+    get.addStatement("return result");
+    type.addMethod(get.build());
+    return JavaFile.builder(className.packageName(), type.build())
+        .skipJavaLangImports(true)
+        .build();
+  }
+
+  private static @Nullable CodeBlock toCode(Object value) {
+    if (value instanceof String string) {
+      return string.length() <= MAX_STRING_LENGTH ? CodeBlock.of("$S", string) : null;
+    }
+    if (value instanceof Boolean) return CodeBlock.of("$L", value);
+    if (value instanceof Long) return CodeBlock.of("$LL", value);
+    if (value instanceof Double number) return toCode((double) number);
+    if (value instanceof PNull) return CodeBlock.of("$T.getInstance()", PNull.class);
+    if (value instanceof Pattern pattern) {
+      return pattern.pattern().length() <= MAX_STRING_LENGTH
+          ? CodeBlock.of("$T.compile($S, $L)", Pattern.class, pattern.pattern(), pattern.flags())
+          : null;
+    }
+    if (value instanceof Pair<?, ?> pair) {
+      var first = toCode(pair.getFirst());
+      var second = toCode(pair.getSecond());
+      return first != null && second != null
+          ? CodeBlock.of("new $T<>($L, $L)", Pair.class, first, second)
+          : null;
+    }
+    if (value instanceof Duration duration) {
+      return CodeBlock.of(
+          "new $T($L, $T.$L)",
+          Duration.class,
+          toCode(duration.getValue()),
+          DurationUnit.class,
+          duration.getUnit().name());
+    }
+    if (value instanceof DataSize dataSize) {
+      return CodeBlock.of(
+          "new $T($L, $T.$L)",
+          DataSize.class,
+          toCode(dataSize.getValue()),
+          DataSizeUnit.class,
+          dataSize.getUnit().name());
+    }
+    if (value instanceof Map<?, ?> map && map.isEmpty()) {
+      return CodeBlock.of("$T.emptyMap()", Collections.class);
+    }
+    if (value instanceof Set<?> set && set.isEmpty()) {
+      return CodeBlock.of("$T.emptySet()", Collections.class);
+    }
+    if (value instanceof List<?> list && list.isEmpty()) {
+      return CodeBlock.of("$T.emptyList()", Collections.class);
+    }
+    return null;
+  }
+
+  private static CodeBlock toCode(double value) {
+    if (Double.isNaN(value)) return CodeBlock.of("$T.NaN", Double.class);
+    if (Double.isInfinite(value)) {
+      return CodeBlock.of(
+          "$T.$L", Double.class, value > 0 ? "POSITIVE_INFINITY" : "NEGATIVE_INFINITY");
+    }
+    return CodeBlock.of("$Ld", value);
+  }
+}
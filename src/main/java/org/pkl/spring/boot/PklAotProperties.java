@@ -0,0 +1,73 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.util.Map;
+import java.util.function.Supplier;
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.BeanUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Pkl config files evaluated during Spring's ahead-of-time processing.
+ *
+ * <p>{@link PklAotProcessor} writes the flattened properties of the application's Pkl property
+ * sources into the generated class {@value #GENERATED_CLASS_NAME}. When the application runs with
+ * generated artifacts, such as in a native image, {@link PklPropertySourceLoader} uses these
+ * properties instead of evaluating the config files. Unless bootstrap property {@code
+ * pkl.aot.enabled} is {@code false}, the generated class is loaded once per JVM.
+ */
+final class PklAotProperties {
+  static final String GENERATED_CLASS_NAME = "org.pkl.spring.boot.PklAotProperties__Generated";
+
+  @Nullable private static volatile Map<String, Map<String, Object>> generated;
+
+  private PklAotProperties() {}
+
+  /**
+   * Returns the properties of the property source with the given name, or {@code null} if it was
+   * not evaluated ahead of time.
+   */
+  static @Nullable Map<String, Object> get(PklSettings settings, String propertySourceName) {
+    return load(settings).get(propertySourceName);
+  }
+
+  /** Whether any config files were evaluated ahead of time. */
+  static boolean isAvailable(PklSettings settings) {
+    return !load(settings).isEmpty();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Map<String, Object>> load(PklSettings settings) {
+    if (!settings.isAotEnabled() || !AotDetector.useGeneratedArtifacts()) {
+      return Map.of();
+    }
+    var result = generated;
+    if (result == null) {
+      var classLoader = PklAotProperties.class.getClassLoader();
+      if (ClassUtils.isPresent(GENERATED_CLASS_NAME, classLoader)) {
+        var type = ClassUtils.resolveClassName(GENERATED_CLASS_NAME, classLoader);
+        result =
+            ((Supplier<Map<String, Map<String, Object>>>) BeanUtils.instantiateClass(type)).get();
+      } else {
+        result = Map.of();
+      }
+      generated = result;
+    }
+    return result;
+  }
+}
@@ -0,0 +1,31 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import org.springframework.boot.context.event.ApplicationFailedEvent;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * Releases resources held for loading Pkl config files if the application fails to start before
+ * they were released together with the bootstrap context (see {@link PklStartup}).
+ */
+public class PklApplicationListener implements ApplicationListener<ApplicationFailedEvent> {
+  @Override
+  public void onApplicationEvent(ApplicationFailedEvent event) {
+    // published by the thread that started the application
+    PklStartup.close(event.getSpringApplication());
+  }
+}
@@ -15,27 +15,149 @@
  */
 package org.pkl.spring.boot;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
 import java.util.*;
 import org.pkl.core.PNull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
 import org.springframework.boot.context.properties.ConfigurationPropertiesBinding;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.convert.converter.GenericConverter;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.type.AnnotatedTypeMetadata;
 import org.springframework.lang.Nullable;
-import org.springframework.stereotype.Component;
 
 @AutoConfiguration
+@Conditional(PklAutoConfiguration.PklPropertySourcesCondition.class)
 public class PklAutoConfiguration {
   public PklAutoConfiguration(ConfigurableEnvironment env) {
     // otherwise `Environment.getProperty("pklPropertyWithNullValue")` fails with
     // `ConverterNotFoundException`
     env.getConversionService().addConverter(new PNullConverter());
+    env.getConversionService().addConverter(new PklValueConverter());
   }
 
-  @Component
-  @SuppressWarnings("unused")
+  /** Converts {@link PNull} when binding {@code @ConfigurationProperties}. */
+  @Bean
   @ConfigurationPropertiesBinding
+  static PNullConverter pklNullConverter() {
+    return new PNullConverter();
+  }
+
+  /**
+   * Converts Pkl durations, data sizes, pairs, and objects when binding
+   * {@code @ConfigurationProperties}.
+   */
+  @Bean
+  @ConfigurationPropertiesBinding
+  static PklValueConverter pklValueConverter() {
+    return new PklValueConverter();
+  }
+
+  /**
+   * Binds {@code @ConfigurationProperties} value objects directly against {@link
+   * PklPropertySource}s, bypassing Spring Boot's adaptation of flattened property names.
+   */
+  @Bean
+  static PklConfigurationPropertiesBinder pklConfigurationPropertiesBinder() {
+    return new PklConfigurationPropertiesBinder();
+  }
+
+  /**
+   * Reads properties without resolving placeholders in values of Pkl config files, which is cheaper
+   * than reading them from the environment.
+   */
+  @Bean
+  PklPropertyResolver pklPropertyResolver(ConfigurableEnvironment environment) {
+    return new PklPropertyResolver(environment);
+  }
+
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnProperty(name = "pkl.reload.enabled", havingValue = "true")
+  static class PklReloadConfiguration {
+    /** Reloads Pkl config files when they change. */
+    @Bean
+    PklConfigReloader pklConfigReloader(
+        ConfigurableEnvironment environment,
+        ApplicationEventPublisher eventPublisher,
+        ObjectProvider<PklSettings> settings) {
+      var debounce =
+          environment.getProperty("pkl.reload.debounce", Duration.class, Duration.ofMillis(500));
+      // the settings config files were loaded with, registered by PklStartup
+      return new PklConfigReloader(
+          environment,
+          eventPublisher,
+          debounce,
+          settings.getIfAvailable(() -> new PklSettings(environment)));
+    }
+
+    /** Rebinds the {@code @ConfigurationProperties} beans affected by a reload. */
+    @Bean
+    @ConditionalOnProperty(
+        name = "pkl.reload.rebind.enabled",
+        havingValue = "true",
+        matchIfMissing = true)
+    PklConfigurationPropertiesRebinder pklConfigurationPropertiesRebinder(
+        ConfigurableApplicationContext applicationContext) {
+      return new PklConfigurationPropertiesRebinder(applicationContext);
+    }
+  }
+
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnClass(MeterBinder.class)
+  static class PklMetricsConfiguration {
+    /** Exposes statistics about loaded Pkl config files as Micrometer meters. */
+    @Bean
+    PklMetrics pklMetrics(ConfigurableEnvironment environment) {
+      return new PklMetrics(environment);
+    }
+  }
+
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnClass({Endpoint.class, ConditionalOnAvailableEndpoint.class})
+  static class PklEndpointConfiguration {
+    /** Describes loaded Pkl config files, if the Actuator endpoint is exposed. */
+    @Bean
+    @ConditionalOnAvailableEndpoint
+    PklEndpoint pklEndpoint(ConfigurableEnvironment environment) {
+      return new PklEndpoint(environment);
+    }
+  }
+
+  /**
+   * Matches if Pkl config files were loaded. Applications without Pkl config files thus load no Pkl
+   * classes, nor classes of this library that refer to them.
+   */
+  static class PklPropertySourcesCondition extends SpringBootCondition {
+    @Override
+    public ConditionOutcome getMatchOutcome(
+        ConditionContext context, AnnotatedTypeMetadata metadata) {
+      if (context.getEnvironment() instanceof ConfigurableEnvironment environment) {
+        for (var propertySource : environment.getPropertySources()) {
+          if (propertySource instanceof PklPropertySource
+              || propertySource instanceof PklMapPropertySource) {
+            return ConditionOutcome.match(
+                "found Pkl property source '" + propertySource.getName() + "'");
+          }
+        }
+      }
+      return ConditionOutcome.noMatch("found no Pkl property sources");
+    }
+  }
+
   public static class PNullConverter implements GenericConverter {
     @Override
     public @Nullable Set<ConvertiblePair> getConvertibleTypes() {
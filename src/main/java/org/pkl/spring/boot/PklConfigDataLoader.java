@@ -0,0 +1,43 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.io.IOException;
+import org.springframework.boot.context.config.ConfigData;
+import org.springframework.boot.context.config.ConfigDataLoader;
+import org.springframework.boot.context.config.ConfigDataLoaderContext;
+import org.springframework.boot.context.config.ConfigDataResourceNotFoundException;
+
+/**
+ * Loads Pkl config files resolved by {@link PklConfigDataLocationResolver}.
+ *
+ * <p>All config files resolved by the time the first of them is loaded are evaluated together, with
+ * the same Pkl evaluator. Modules imported by several config files, such as a shared schema, are
+ * evaluated once.
+ */
+public class PklConfigDataLoader implements ConfigDataLoader<PklConfigDataResource> {
+  @Override
+  public ConfigData load(ConfigDataLoaderContext context, PklConfigDataResource resource)
+      throws IOException {
+    ConfigDataResourceNotFoundException.throwIfDoesNotExist(resource, resource.getResource());
+    var propertySources =
+        PklConfigDataSession.get(context.getBootstrapContext())
+            .load("Pkl config resource '" + resource + "'", resource.getResource());
+    return resource.getProfile() != null
+        ? new ConfigData(propertySources, ConfigData.Option.PROFILE_SPECIFIC)
+        : new ConfigData(propertySources);
+  }
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.config.ConfigDataLocation;
+import org.springframework.boot.context.config.ConfigDataLocationNotFoundException;
+import org.springframework.boot.context.config.ConfigDataLocationResolver;
+import org.springframework.boot.context.config.ConfigDataLocationResolverContext;
+import org.springframework.boot.context.config.Profiles;
+import org.springframework.core.io.ResourceLoader;
+
+/**
+ * Resolves {@code pkl:} locations, such as {@code
+ * spring.config.import=pkl:file:./config/application.pkl}, to Pkl config files.
+ *
+ * <p>The part after {@code pkl:} is a Spring resource location. A location ending in {@code /} is a
+ * directory containing {@code <spring.config.name>.pkl}. For each active profile, the config file
+ * {@code <name>-<profile>.pkl} is loaded too if it exists.
+ *
+ * <p>Resolved config files are evaluated together by {@link PklConfigDataLoader}. Resolving a
+ * location does not evaluate anything. If a config file does not exist, resolving its location
+ * fails with {@link ConfigDataLocationNotFoundException}, which Spring Boot ignores if the location
+ * is optional (for example, {@code optional:pkl:file:./config/application.pkl}).
+ */
+public class PklConfigDataLocationResolver
+    implements ConfigDataLocationResolver<PklConfigDataResource> {
+  static final String PREFIX = "pkl:";
+
+  private static final String EXTENSION = ".pkl";
+
+  private final ResourceLoader resourceLoader;
+
+  public PklConfigDataLocationResolver(ResourceLoader resourceLoader) {
+    this.resourceLoader = resourceLoader;
+  }
+
+  @Override
+  public boolean isResolvable(
+      ConfigDataLocationResolverContext context, ConfigDataLocation location) {
+    return location.hasPrefix(PREFIX);
+  }
+
+  @Override
+  public List<PklConfigDataResource> resolve(
+      ConfigDataLocationResolverContext context, ConfigDataLocation location) {
+    var result = new ArrayList<PklConfigDataResource>();
+    for (var path : getPaths(context, location)) {
+      var resource = resourceLoader.getResource(path + EXTENSION);
+      if (!resource.exists()) {
+        throw new ConfigDataLocationNotFoundException(location);
+      }
+      result.add(new PklConfigDataResource(resource, null, location.isOptional()));
+    }
+    add(context, result);
+    return result;
+  }
+
+  @Override
+  public List<PklConfigDataResource> resolveProfileSpecific(
+      ConfigDataLocationResolverContext context, ConfigDataLocation location, Profiles profiles) {
+    var result = new ArrayList<PklConfigDataResource>();
+    for (var path : getPaths(context, location)) {
+      for (var profile : profiles) {
+        // profile-specific config files are optional
+        var resource = resourceLoader.getResource(path + '-' + profile + EXTENSION);
+        if (resource.exists()) {
+          result.add(new PklConfigDataResource(resource, profile, true));
+        }
+      }
+    }
+    add(context, result);
+    return result;
+  }
+
+  // returns config file paths without extension
+  private static List<String> getPaths(
+      ConfigDataLocationResolverContext context, ConfigDataLocation location) {
+    var value = location.getNonPrefixedValue(PREFIX).trim();
+    if (value.endsWith("/")) {
+      var names =
+          context
+              .getBinder()
+              .bind("spring.config.name", String[].class)
+              .orElse(new String[] {"application"});
+      var result = new ArrayList<String>();
+      for (var name : names) {
+        result.add(value + name.trim());
+      }
+      return result;
+    }
+    if (!value.endsWith(EXTENSION)) {
+      throw new IllegalStateException(
+          "Pkl config location `" + location + "` must end with `" + EXTENSION + "` or `/`.");
+    }
+    return List.of(value.substring(0, value.length() - EXTENSION.length()));
+  }
+
+  private static void add(
+      ConfigDataLocationResolverContext context, List<PklConfigDataResource> resources) {
+    var session = PklConfigDataSession.get(context.getBootstrapContext());
+    for (var resource : resources) {
+      session.add(resource.getResource());
+    }
+  }
+}
@@ -0,0 +1,60 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import org.springframework.boot.context.config.ConfigDataResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+/**
+ * A Pkl config file resolved from a {@code pkl:} location by {@link PklConfigDataLocationResolver}.
+ */
+public final class PklConfigDataResource extends ConfigDataResource {
+  private final Resource resource;
+  @Nullable private final String profile;
+
+  PklConfigDataResource(Resource resource, @Nullable String profile, boolean optional) {
+    super(optional);
+    this.resource = resource;
+    this.profile = profile;
+  }
+
+  /** The config file. */
+  public Resource getResource() {
+    return resource;
+  }
+
+  /** The profile that this config file is specific to, or {@code null} if it is not. */
+  public @Nullable String getProfile() {
+    return profile;
+  }
+
+  @Override
+  public boolean equals(@Nullable Object obj) {
+    if (this == obj) return true;
+    return obj instanceof PklConfigDataResource other && resource.equals(other.resource);
+  }
+
+  @Override
+  public int hashCode() {
+    return resource.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return resource.toString();
+  }
+}
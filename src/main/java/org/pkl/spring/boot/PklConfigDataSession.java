@@ -0,0 +1,101 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.boot.BootstrapRegistry.InstanceSupplier;
+import org.springframework.boot.ConfigurableBootstrapContext;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.Resource;
+
+/**
+ * Evaluates the config files of {@code pkl:} locations with a single evaluator.
+ *
+ * <p>One session exists per application startup. It is stored in the bootstrap context and closed
+ * together with it, once all config files have been loaded.
+ */
+final class PklConfigDataSession implements AutoCloseable {
+  private final PklEvaluatorPool pool;
+  private final PklPropertySourceLoader loader;
+
+  // resolved config files that have not been evaluated yet
+  private final Set<Resource> pending = new LinkedHashSet<>();
+
+  // evaluated config files that have not been loaded yet;
+  // values are of type LoadedModule, IOException, or RuntimeException
+  private final Map<Resource, Object> evaluated = new HashMap<>();
+
+  private PklConfigDataSession(PklSettings settings) {
+    // never closes its single evaluator because it is idle
+    pool =
+        new PklEvaluatorPool(
+            () -> PklEvaluators.create(settings), 1, Duration.ofNanos(Long.MAX_VALUE));
+    loader = new PklPropertySourceLoader(pool, settings);
+  }
+
+  static PklConfigDataSession get(ConfigurableBootstrapContext bootstrapContext) {
+    if (!bootstrapContext.isRegistered(PklConfigDataSession.class)) {
+      var session = new PklConfigDataSession(PklStartup.get(bootstrapContext).getSettings());
+      bootstrapContext.register(PklConfigDataSession.class, InstanceSupplier.of(session));
+      bootstrapContext.addCloseListener((event) -> session.close());
+    }
+    return bootstrapContext.get(PklConfigDataSession.class);
+  }
+
+  synchronized void add(Resource resource) {
+    if (!evaluated.containsKey(resource)) pending.add(resource);
+  }
+
+  /**
+   * Loads a config file. If it hasn't been evaluated yet, first evaluates it together with all
+   * other pending config files.
+   */
+  synchronized List<PropertySource<?>> load(String propertySourceName, Resource resource)
+      throws IOException {
+    if (!evaluated.containsKey(resource)) {
+      pending.add(resource);
+      for (var next : pending) {
+        evaluated.put(next, evaluate(next));
+      }
+      pending.clear();
+    }
+    var result = evaluated.remove(resource);
+    if (result instanceof IOException e) throw e;
+    if (result instanceof RuntimeException e) throw e;
+    return loader.load(propertySourceName, resource, (PklPropertySourceLoader.LoadedModule) result);
+  }
+
+  @Override
+  public synchronized void close() {
+    pending.clear();
+    evaluated.clear();
+    pool.close();
+  }
+
+  private Object evaluate(Resource resource) {
+    try {
+      return loader.loadModule(resource);
+    } catch (IOException | RuntimeException e) {
+      return e;
+    }
+  }
+}
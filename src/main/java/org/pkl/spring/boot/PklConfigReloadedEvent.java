@@ -0,0 +1,57 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.util.Set;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.core.io.Resource;
+
+/**
+ * Published after a Pkl config file has been reloaded and its property source has been replaced in
+ * the environment.
+ *
+ * <p>Only published if at least one property was added, removed, or changed.
+ */
+public class PklConfigReloadedEvent extends ApplicationEvent {
+  private static final long serialVersionUID = 1L;
+
+  private final String propertySourceName;
+  private final Resource resource;
+  private final Set<String> changedKeys;
+
+  public PklConfigReloadedEvent(
+      Object source, String propertySourceName, Resource resource, Set<String> changedKeys) {
+    super(source);
+    this.propertySourceName = propertySourceName;
+    this.resource = resource;
+    this.changedKeys = Set.copyOf(changedKeys);
+  }
+
+  /** The name of the replaced property source. */
+  public String getPropertySourceName() {
+    return propertySourceName;
+  }
+
+  /** The config file that was reloaded. */
+  public Resource getResource() {
+    return resource;
+  }
+
+  /** The names of the properties that were added, removed, or changed. */
+  public Set<String> getChangedKeys() {
+    return changedKeys;
+  }
+}
@@ -0,0 +1,295 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.lang.Nullable;
+
+/**
+ * Reloads Pkl config files when they or any of the local modules and resources they depend on
+ * change.
+ *
+ * <p>Files are watched with a {@link WatchService}. Bursts of changes are debounced. Affected
+ * config files are re-evaluated on a background thread, each with a fresh evaluator, and their
+ * property sources are replaced in the environment one at a time. Lookups running concurrently see
+ * either the old or the new property source. If re-evaluation fails, the old property source is
+ * kept. After a property source has been replaced, a {@link PklConfigReloadedEvent} listing the
+ * changed keys is published.
+ *
+ * <p>Only config files loaded from the file system are reloaded. Directories are watched only as
+ * long as a loaded config file depends on them; all watch keys are cancelled when the reloader is
+ * stopped, which happens when the application context is closed.
+ */
+final class PklConfigReloader implements SmartLifecycle {
+  private static final Log logger = LogFactory.getLog(PklConfigReloader.class);
+
+  private final ConfigurableEnvironment environment;
+  private final ApplicationEventPublisher eventPublisher;
+  private final Duration debounce;
+  private final PklSettings settings;
+  private final PklPropertySourceLoader loader;
+  private final PklEvaluatorPool evaluatorPool;
+
+  private final Object lock = new Object();
+  private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+  private final Map<Path, Set<String>> watchedFiles = new HashMap<>();
+
+  @Nullable private WatchService watchService;
+  @Nullable private Thread thread;
+  private volatile boolean running;
+
+  PklConfigReloader(
+      ConfigurableEnvironment environment,
+      ApplicationEventPublisher eventPublisher,
+      Duration debounce,
+      PklSettings settings) {
+    this.environment = environment;
+    this.eventPublisher = eventPublisher;
+    this.debounce = debounce;
+    this.settings = settings;
+    // a fresh evaluator for every reload, so that changed imports are picked up
+    evaluatorPool =
+        new PklEvaluatorPool(() -> PklEvaluators.newBuilder(settings).build(), 1, Duration.ZERO);
+    loader = new PklPropertySourceLoader(evaluatorPool, settings);
+  }
+
+  @Override
+  public void start() {
+    synchronized (lock) {
+      if (running) return;
+      try {
+        watchService = FileSystems.getDefault().newWatchService();
+      } catch (IOException e) {
+        logger.warn("Cannot watch Pkl config files for changes.", e);
+        return;
+      }
+      for (var propertySource : environment.getPropertySources()) {
+        watch(propertySource);
+      }
+      running = true;
+      thread = new Thread(this::run, "pkl-config-reloader");
+      thread.setDaemon(true);
+      thread.start();
+    }
+  }
+
+  @Override
+  public void stop() {
+    Thread stoppedThread;
+    synchronized (lock) {
+      if (!running) return;
+      running = false;
+      stoppedThread = thread;
+      thread = null;
+      watchedDirectories.keySet().forEach(WatchKey::cancel);
+      try {
+        assert watchService != null;
+        watchService.close();
+      } catch (IOException ignored) {
+        // nothing more we can do
+      }
+      watchedDirectories.clear();
+      watchedFiles.clear();
+    }
+    if (stoppedThread != null) stoppedThread.interrupt();
+    evaluatorPool.close();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void run() {
+    var watchService = this.watchService;
+    assert watchService != null;
+    try {
+      while (running) {
+        var pending = new LinkedHashSet<String>();
+        collectChanges(watchService.take(), pending);
+        // wait until changes have settled
+        WatchKey key;
+        while ((key = watchService.poll(debounce.toMillis(), TimeUnit.MILLISECONDS)) != null) {
+          collectChanges(key, pending);
+        }
+        for (var name : pending) {
+          if (!running) return;
+          reload(name);
+        }
+      }
+    } catch (InterruptedException | ClosedWatchServiceException e) {
+      // stopped
+    }
+  }
+
+  private void collectChanges(WatchKey key, Set<String> pending) {
+    synchronized (lock) {
+      var directory = watchedDirectories.get(key);
+      for (var event : key.pollEvents()) {
+        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+          watchedFiles.values().forEach(pending::addAll);
+        } else if (directory != null && event.context() instanceof Path path) {
+          var names = watchedFiles.get(directory.resolve(path));
+          if (names != null) pending.addAll(names);
+        }
+      }
+      key.reset();
+    }
+  }
+
+  private void reload(String name) {
+    var current = environment.getPropertySources().get(name);
+    var loadInfo = current != null ? PklLoadInfo.of(current) : null;
+    if (loadInfo == null) return;
+    var resource = loadInfo.getResource();
+    PropertySource<?> replacement;
+    try {
+      replacement = loader.load(name, resource, null).get(0);
+    } catch (Exception e) {
+      logger.warn("Failed to reload " + resource + ". Keeping the previous configuration.", e);
+      return;
+    }
+    var changedKeys = getChangedKeys(current, replacement);
+    environment.getPropertySources().replace(name, replacement);
+    synchronized (lock) {
+      if (!running) return;
+      watchedFiles.values().forEach((names) -> names.remove(name));
+      watch(replacement);
+      unwatchUnusedFiles();
+    }
+    if (!changedKeys.isEmpty()) {
+      eventPublisher.publishEvent(new PklConfigReloadedEvent(this, name, resource, changedKeys));
+    }
+  }
+
+  // must be called while holding `lock`
+  private void watch(PropertySource<?> propertySource) {
+    var loadInfo = PklLoadInfo.of(propertySource);
+    if (loadInfo == null || !loadInfo.getResource().isFile()) return;
+    assert watchService != null;
+    try {
+      var file = loadInfo.getResource().getFile().toPath().toAbsolutePath().normalize();
+      for (var watchedFile : getWatchedFiles(file)) {
+        var directory = watchedFile.getParent();
+        if (!watchedDirectories.containsValue(directory)) {
+          var key =
+              directory.register(
+                  watchService,
+                  StandardWatchEventKinds.ENTRY_CREATE,
+                  StandardWatchEventKinds.ENTRY_MODIFY,
+                  StandardWatchEventKinds.ENTRY_DELETE);
+          watchedDirectories.put(key, directory);
+        }
+        watchedFiles
+            .computeIfAbsent(watchedFile, (path) -> new HashSet<>())
+            .add(propertySource.getName());
+      }
+    } catch (IOException e) {
+      logger.warn("Cannot watch " + loadInfo.getResource() + " for changes.", e);
+    }
+  }
+
+  // must be called while holding `lock`
+  private void unwatchUnusedFiles() {
+    watchedFiles.values().removeIf(Set::isEmpty);
+    var directories = new HashSet<Path>();
+    for (var file : watchedFiles.keySet()) directories.add(file.getParent());
+    var iterator = watchedDirectories.entrySet().iterator();
+    while (iterator.hasNext()) {
+      var entry = iterator.next();
+      if (!directories.contains(entry.getValue())) {
+        entry.getKey().cancel();
+        iterator.remove();
+      }
+    }
+  }
+
+  /** The directories currently watched for changes. */
+  Set<Path> getWatchedDirectories() {
+    synchronized (lock) {
+      return Set.copyOf(watchedDirectories.values());
+    }
+  }
+
+  // the config file and the local files it depends on
+  private Set<Path> getWatchedFiles(Path configFile) throws IOException {
+    var result = new LinkedHashSet<Path>();
+    result.add(configFile);
+    var dependencies =
+        PklModuleDependencies.collect(
+            configFile.toUri(),
+            Files.readString(configFile, StandardCharsets.UTF_8),
+            System.getenv(),
+            PklPropertySourceLoader.getExternalProperties(settings));
+    if (dependencies != null) {
+      for (var uri : dependencies.getUris()) {
+        if ("file".equals(uri.getScheme())) result.add(Path.of(uri).normalize());
+      }
+    }
+    return result;
+  }
+
+  static Set<String> getChangedKeys(PropertySource<?> previous, PropertySource<?> current) {
+    var result = new TreeSet<String>();
+    if (!(previous instanceof EnumerablePropertySource<?> previousSource)
+        || !(current instanceof EnumerablePropertySource<?> currentSource)) {
+      return result;
+    }
+    for (var name : previousSource.getPropertyNames()) {
+      if (!valueEquals(previousSource.getProperty(name), currentSource.getProperty(name))) {
+        result.add(name);
+      }
+    }
+    for (var name : currentSource.getPropertyNames()) {
+      if (!previousSource.containsProperty(name)) result.add(name);
+    }
+    return result;
+  }
+
+  private static boolean valueEquals(@Nullable Object previous, @Nullable Object current) {
+    // `Pattern` does not implement `equals`
+    if (previous instanceof Pattern previousPattern && current instanceof Pattern currentPattern) {
+      return previousPattern.pattern().equals(currentPattern.pattern())
+          && previousPattern.flags() == currentPattern.flags();
+    }
+    return Objects.equals(previous, current);
+  }
+}
@@ -0,0 +1,309 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.pkl.config.java.mapper.ValueMapper;
+import org.pkl.config.java.mapper.ValueMapperBuilder;
+import org.pkl.core.Composite;
+import org.pkl.core.PModule;
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConfigurationPropertiesBindHandlerAdvisor;
+import org.springframework.boot.context.properties.ConfigurationPropertiesBinding;
+import org.springframework.boot.context.properties.bind.AbstractBindHandler;
+import org.springframework.boot.context.properties.bind.BindConstructorProvider;
+import org.springframework.boot.context.properties.bind.BindContext;
+import org.springframework.boot.context.properties.bind.BindHandler;
+import org.springframework.boot.context.properties.bind.BindMethod;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.PropertySourcesPlaceholdersResolver;
+import org.springframework.boot.context.properties.bind.handler.IgnoreErrorsBindHandler;
+import org.springframework.boot.context.properties.bind.handler.IgnoreTopLevelConverterNotFoundBindHandler;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyState;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.format.support.FormattingConversionService;
+import org.springframework.lang.Nullable;
+import org.springframework.validation.Validator;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Binds {@code @ConfigurationProperties} value objects, such as the config classes generated by
+ * Pkl's Java code generator, with a {@link Binder} that reads Pkl property sources through the
+ * adapters of {@link PklConfigurationPropertySources}.
+ *
+ * <p>This post-processor is only active if bootstrap property {@code pkl.binding.mode} is {@code
+ * binder} or {@code value-mapper}. In {@code value-mapper} mode, value objects are instead mapped
+ * directly from the evaluated Pkl module with Pkl's {@link ValueMapper}, skipping flattening and
+ * rebinding altogether. This requires the Pkl module with the highest precedence to define the
+ * bound object, and no property source with higher precedence to define any of its properties.
+ * Otherwise, the value object is bound as usual.
+ *
+ * <p>Spring Boot offers no way to plug in a custom adapter for a property source. Instead, this
+ * post-processor replaces the instance supplier that Spring Boot registers for each constructor
+ * bound {@code @ConfigurationProperties} bean. Beans whose prefix no Pkl property source defines,
+ * and beans that require validation or unknown field checks, keep using Spring Boot's binder, as do
+ * all beans of an application that runs with ahead-of-time generated bean definitions. Property
+ * sources other than Pkl property sources are adapted by Spring Boot as usual, and their precedence
+ * is preserved. Spring Boot offers no public way to record bound properties, hence the {@code
+ * configprops} Actuator endpoint shows no inputs for beans bound by this post-processor.
+ */
+final class PklConfigurationPropertiesBinder implements BeanFactoryPostProcessor, EnvironmentAware {
+  private static final String VALIDATOR_BEAN_NAME = "configurationPropertiesValidator";
+
+  @Nullable private ConfigurableEnvironment environment;
+  @Nullable private volatile Binder binder;
+  @Nullable private volatile ValueMapper valueMapper;
+
+  @Override
+  public void setEnvironment(Environment environment) {
+    if (environment instanceof ConfigurableEnvironment configurableEnvironment) {
+      this.environment = configurableEnvironment;
+    }
+  }
+
+  @Override
+  public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+    // bean definitions generated ahead of time don't carry the attributes read below
+    if (environment == null
+        || beanFactory.containsBean(VALIDATOR_BEAN_NAME)
+        || AotDetector.useGeneratedArtifacts()) {
+      return;
+    }
+    var propertySources = environment.getPropertySources();
+    // settings of the application's startup, unless the context was not started by Spring Boot
+    var settings =
+        beanFactory
+            .getBeanProvider(PklSettings.class)
+            .getIfAvailable(() -> new PklSettings(environment));
+    if (settings.getBindingMode() == PklSettings.BindingMode.DEFAULT) return;
+    var mapValues = settings.getBindingMode() == PklSettings.BindingMode.VALUE_MAPPER;
+    if (mapValues
+        ? propertySources.stream().noneMatch(source -> getModule(source) != null)
+        : !PklConfigurationPropertySources.hasPklPropertySources(propertySources)) {
+      return;
+    }
+    for (var beanName : beanFactory.getBeanDefinitionNames()) {
+      var definition = beanFactory.getBeanDefinition(beanName);
+      if (definition.getAttribute(BindMethod.class.getName()) != BindMethod.VALUE_OBJECT
+          || !(definition instanceof AbstractBeanDefinition beanDefinition)
+          || !beanDefinition.hasBeanClass()) {
+        continue;
+      }
+      var type = beanDefinition.getBeanClass();
+      var annotation = getAnnotation(type);
+      var bootSupplier = beanDefinition.getInstanceSupplier();
+      if (annotation != null && bootSupplier != null && isSupported(type, annotation)) {
+        var prefix = ConfigurationPropertyName.of(annotation.prefix());
+        beanDefinition.setInstanceSupplier(
+            () -> {
+              // leave beans unrelated to Pkl config files to Spring Boot
+              if (!isBackedByPkl(prefix)) return bootSupplier.get();
+              var result = mapValues ? map(type, annotation) : null;
+              return result != null ? result : bind(beanFactory, type, annotation);
+            });
+      }
+    }
+  }
+
+  private Object bind(
+      ConfigurableListableBeanFactory beanFactory,
+      Class<?> type,
+      ConfigurationProperties annotation) {
+    var target =
+        Bindable.of(type).withAnnotations(annotation).withBindMethod(BindMethod.VALUE_OBJECT);
+    BindHandler handler = new IgnoreTopLevelConverterNotFoundBindHandler();
+    handler = new RootBindHandler(handler);
+    if (annotation.ignoreInvalidFields()) {
+      handler = new IgnoreErrorsBindHandler(handler);
+    }
+    for (var advisor :
+        beanFactory
+            .getBeanProvider(ConfigurationPropertiesBindHandlerAdvisor.class)
+            .orderedStream()
+            .toList()) {
+      handler = advisor.apply(handler);
+    }
+    return getBinder(beanFactory).bindOrCreate(annotation.prefix(), target, handler);
+  }
+
+  /** Tells whether a Pkl property source defines {@code prefix} or any of its descendants. */
+  private boolean isBackedByPkl(ConfigurationPropertyName prefix) {
+    assert environment != null;
+    for (var propertySource : environment.getPropertySources()) {
+      if (!(propertySource instanceof PklPropertySource
+          || propertySource instanceof PklMapPropertySource)) {
+        continue;
+      }
+      if (prefix.isEmpty()) return true;
+      var source = PklConfigurationPropertySources.adapt(propertySource);
+      if (source != null
+          && (source.getConfigurationProperty(prefix) != null
+              || source.containsDescendantOf(prefix) != ConfigurationPropertyState.ABSENT)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private @Nullable Object map(Class<?> type, ConfigurationProperties annotation) {
+    assert environment != null;
+    var prefix = ConfigurationPropertyName.of(annotation.prefix());
+    var higherSources = new ArrayList<ConfigurationPropertySource>();
+    for (var propertySource : environment.getPropertySources()) {
+      var module = getModule(propertySource);
+      if (module == null) {
+        var source = PklConfigurationPropertySources.adapt(propertySource);
+        if (source != null) higherSources.add(source);
+        continue;
+      }
+      var value =
+          prefix.isEmpty()
+              ? module
+              : propertySource instanceof PklPropertySource pklPropertySource
+                  ? pklPropertySource.getTree().getValue(prefix)
+                  : new PklPropertyTree(module).getValue(prefix);
+      if (!(value instanceof Composite composite)
+          || isOverridden(prefix, composite, higherSources)) {
+        return null;
+      }
+      return getValueMapper().map(composite, type);
+    }
+    return null;
+  }
+
+  private static boolean isOverridden(
+      ConfigurationPropertyName prefix,
+      Composite composite,
+      List<ConfigurationPropertySource> higherSources) {
+    if (higherSources.isEmpty()) return false;
+    for (var propertyName : composite.getProperties().keySet()) {
+      var name = prefix.append(ConfigurationPropertyName.adapt(propertyName, '.'));
+      for (var source : higherSources) {
+        if (source.getConfigurationProperty(name) != null
+            || source.containsDescendantOf(name) != ConfigurationPropertyState.ABSENT) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private ValueMapper getValueMapper() {
+    var result = valueMapper;
+    if (result == null) {
+      result = ValueMapperBuilder.preconfigured().build();
+      valueMapper = result;
+    }
+    return result;
+  }
+
+  private static @Nullable PModule getModule(PropertySource<?> propertySource) {
+    if (propertySource instanceof PklPropertySource pklPropertySource) {
+      return pklPropertySource.getSource();
+    }
+    if (propertySource instanceof PklMapPropertySource pklMapPropertySource) {
+      return pklMapPropertySource.getModule();
+    }
+    return null;
+  }
+
+  private Binder getBinder(ConfigurableListableBeanFactory beanFactory) {
+    var result = binder;
+    if (result == null) {
+      assert environment != null;
+      var propertySources = environment.getPropertySources();
+      result =
+          new Binder(
+              new PklConfigurationPropertySources(propertySources),
+              new PropertySourcesPlaceholdersResolver(propertySources),
+              getConversionServices(beanFactory),
+              beanFactory::copyRegisteredEditorsTo,
+              BindHandler.DEFAULT,
+              BindConstructorProvider.DEFAULT);
+      binder = result;
+    }
+    return result;
+  }
+
+  // same conversion services as used by Spring Boot's binder
+  private static List<ConversionService> getConversionServices(
+      ConfigurableListableBeanFactory beanFactory) {
+    var beanName = ConfigurableApplicationContext.CONVERSION_SERVICE_BEAN_NAME;
+    if (beanFactory.containsBean(beanName)
+        && beanFactory.isTypeMatch(beanName, ConversionService.class)) {
+      return List.of(beanFactory.getBean(beanName, ConversionService.class));
+    }
+    var result = new ArrayList<ConversionService>();
+    var beansConversionService = new FormattingConversionService();
+    var converterBeans =
+        ApplicationConversionService.addBeans(
+            beansConversionService, beanFactory, ConfigurationPropertiesBinding.VALUE);
+    if (!converterBeans.isEmpty()) {
+      result.add(beansConversionService);
+    }
+    if (beanFactory.getConversionService() != null) {
+      result.add(beanFactory.getConversionService());
+    }
+    if (!converterBeans.isEmpty() || result.isEmpty()) {
+      result.add(ApplicationConversionService.getSharedInstance());
+    }
+    return result;
+  }
+
+  private static @Nullable ConfigurationProperties getAnnotation(Class<?> type) {
+    var annotation = MergedAnnotations.from(type).get(ConfigurationProperties.class);
+    return annotation.isPresent() ? annotation.synthesize() : null;
+  }
+
+  private static boolean isSupported(Class<?> type, ConfigurationProperties annotation) {
+    return annotation.ignoreUnknownFields()
+        && !Validator.class.isAssignableFrom(type)
+        && !MergedAnnotations.from(type).isPresent(Validated.class);
+  }
+
+  // like Spring Boot, bind nested @ConfigurationProperties types as objects rather than values
+  private static final class RootBindHandler extends AbstractBindHandler {
+    RootBindHandler(BindHandler parent) {
+      super(parent);
+    }
+
+    @Override
+    public <T> Bindable<T> onStart(
+        ConfigurationPropertyName name, Bindable<T> target, BindContext context) {
+      var type = target.getType().resolve();
+      var restricted =
+          type != null && MergedAnnotations.from(type).isPresent(ConfigurationProperties.class)
+              ? target.withBindRestrictions(Bindable.BindRestriction.NO_DIRECT_PROPERTY)
+              : target;
+      return super.onStart(name, restricted, context);
+    }
+  }
+}
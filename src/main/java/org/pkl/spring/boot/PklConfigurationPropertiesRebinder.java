@@ -0,0 +1,106 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.boot.context.properties.ConfigurationPropertiesBean;
+import org.springframework.boot.context.properties.bind.BindMethod;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Rebinds the {@code @ConfigurationProperties} beans affected by a reloaded Pkl config file.
+ *
+ * <p>When {@link PklConfigReloader} publishes a {@link PklConfigReloadedEvent}, only beans whose
+ * prefix is, contains, or is contained in a changed key are rebound. Other beans, such as a large
+ * config class whose properties did not change, are left alone.
+ *
+ * <p>Beans bound via JavaBean properties are rebound in place, the same way Spring Cloud's {@code
+ * ConfigurationPropertiesRebinder} does: the bean is destroyed and initialized again, which binds
+ * its properties and runs its initialization callbacks. Beans bound via constructor, such as the
+ * config classes generated by {@code pkl-codegen-java}, are immutable and keep their values until
+ * the application is restarted; a message is logged instead.
+ */
+final class PklConfigurationPropertiesRebinder
+    implements ApplicationListener<PklConfigReloadedEvent> {
+  private static final Log logger = LogFactory.getLog(PklConfigurationPropertiesRebinder.class);
+
+  private final ConfigurableApplicationContext applicationContext;
+
+  PklConfigurationPropertiesRebinder(ConfigurableApplicationContext applicationContext) {
+    this.applicationContext = applicationContext;
+  }
+
+  @Override
+  public void onApplicationEvent(PklConfigReloadedEvent event) {
+    var changedNames = new ArrayList<ConfigurationPropertyName>();
+    for (var key : event.getChangedKeys()) {
+      var name = ConfigurationPropertyName.adapt(key, '.');
+      if (!name.isEmpty()) changedNames.add(name);
+    }
+    if (changedNames.isEmpty()) return;
+    for (var bean : ConfigurationPropertiesBean.getAll(applicationContext).values()) {
+      var prefix = ConfigurationPropertyName.of(bean.getAnnotation().prefix());
+      if (!isAffected(prefix, changedNames)) continue;
+      if (bean.asBindTarget().getBindMethod() == BindMethod.VALUE_OBJECT) {
+        logger.info(
+            "Configuration properties bean `"
+                + bean.getName()
+                + "` is affected by changes to "
+                + event.getResource()
+                + ", but is bound via constructor and keeps its values until the application is"
+                + " restarted.");
+      } else {
+        rebind(bean.getName(), bean.getInstance());
+      }
+    }
+  }
+
+  private void rebind(String beanName, Object bean) {
+    if (AopUtils.isAopProxy(bean)) {
+      var target = AopProxyUtils.getSingletonTarget(bean);
+      if (target == null) {
+        logger.info(
+            "Cannot rebind configuration properties bean `" + beanName + "` behind a proxy.");
+        return;
+      }
+      bean = target;
+    }
+    var beanFactory = applicationContext.getAutowireCapableBeanFactory();
+    beanFactory.destroyBean(bean);
+    beanFactory.initializeBean(bean, beanName);
+    if (logger.isDebugEnabled()) {
+      logger.debug("Rebound configuration properties bean `" + beanName + "`.");
+    }
+  }
+
+  static boolean isAffected(
+      ConfigurationPropertyName prefix, List<ConfigurationPropertyName> names) {
+    if (prefix.isEmpty()) return true;
+    for (var name : names) {
+      if (prefix.equals(name) || prefix.isAncestorOf(name) || name.isAncestorOf(prefix)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.PropertySources;
+import org.springframework.lang.Nullable;
+
+/**
+ * Adapts property sources to configuration property sources, using {@link
+ * PklConfigurationPropertySource} for {@link PklPropertySource}s and {@link
+ * PklMapConfigurationPropertySource} for {@link PklMapPropertySource}s created by {@link
+ * PklPropertySourceLoader}.
+ *
+ * <p>Like Spring Boot's own adapter, this is a live view that reflects property sources added to or
+ * removed from the underlying {@link PropertySources}.
+ */
+final class PklConfigurationPropertySources implements Iterable<ConfigurationPropertySource> {
+  private final PropertySources propertySources;
+
+  private Map<PropertySource<?>, ConfigurationPropertySource> cache = new IdentityHashMap<>();
+
+  PklConfigurationPropertySources(PropertySources propertySources) {
+    this.propertySources = propertySources;
+  }
+
+  /** Tells whether {@code propertySources} contains property sources adapted by this class. */
+  static boolean hasPklPropertySources(PropertySources propertySources) {
+    return propertySources.stream()
+        .anyMatch(
+            (propertySource) ->
+                propertySource instanceof PklPropertySource
+                    || propertySource instanceof PklMapPropertySource mapPropertySource
+                        && mapPropertySource.getSource() instanceof PklPropertyMap);
+  }
+
+  @Override
+  public synchronized Iterator<ConfigurationPropertySource> iterator() {
+    var adapted = new IdentityHashMap<PropertySource<?>, ConfigurationPropertySource>();
+    var result = new ArrayList<ConfigurationPropertySource>();
+    for (var propertySource : propertySources) {
+      var source = cache.get(propertySource);
+      if (source == null) source = adapt(propertySource);
+      if (source != null) {
+        adapted.put(propertySource, source);
+        result.add(source);
+      }
+    }
+    // only retain adapters for current property sources
+    cache = adapted;
+    return result.iterator();
+  }
+
+  /**
+   * Adapts {@code propertySource}, returning {@code null} for property sources that Spring Boot
+   * ignores when binding.
+   */
+  static @Nullable ConfigurationPropertySource adapt(PropertySource<?> propertySource) {
+    if (propertySource instanceof PklPropertySource pklPropertySource) {
+      return new PklConfigurationPropertySource(pklPropertySource);
+    }
+    if (propertySource instanceof PklMapPropertySource mapPropertySource
+        && mapPropertySource.getSource() instanceof PklPropertyMap properties) {
+      return new PklMapConfigurationPropertySource(mapPropertySource, properties);
+    }
+    if (propertySource instanceof PropertySource.StubPropertySource) {
+      return null;
+    }
+    return ConfigurationPropertySource.from(propertySource);
+  }
+}
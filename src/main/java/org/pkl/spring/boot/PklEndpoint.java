@@ -0,0 +1,99 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.origin.OriginLookup;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.lang.Nullable;
+
+/**
+ * An Actuator endpoint that describes the Pkl property sources of the application's environment.
+ *
+ * <p>{@code /actuator/pkl} lists each Pkl property source with the config file it was loaded from
+ * and statistics collected while loading it. {@code /actuator/pkl/{name}} lists the Pkl property
+ * sources that define a property, in order of precedence. Property values are not exposed.
+ *
+ * <p>The endpoint only reads information collected while loading config files, and never evaluates
+ * anything.
+ */
+@Endpoint(id = "pkl")
+public class PklEndpoint {
+  private final ConfigurableEnvironment environment;
+
+  public PklEndpoint(ConfigurableEnvironment environment) {
+    this.environment = environment;
+  }
+
+  @ReadOperation
+  public PklDescriptor pkl() {
+    var result = new ArrayList<PropertySourceDescriptor>();
+    for (var propertySource : environment.getPropertySources()) {
+      var loadInfo = PklLoadInfo.of(propertySource);
+      if (loadInfo != null) {
+        result.add(
+            new PropertySourceDescriptor(
+                propertySource.getName(),
+                loadInfo.getResource().getDescription(),
+                loadInfo.getOrigin(),
+                loadInfo.getEvaluationTime(),
+                loadInfo.getFlatteningTime(),
+                loadInfo.getPropertyCount(),
+                loadInfo.getEstimatedSize()));
+      }
+    }
+    return new PklDescriptor(result);
+  }
+
+  @ReadOperation
+  public @Nullable PropertyDescriptor pklProperty(@Selector String name) {
+    var result = new ArrayList<PropertyOriginDescriptor>();
+    for (var propertySource : environment.getPropertySources()) {
+      if (PklLoadInfo.of(propertySource) == null || !propertySource.containsProperty(name)) {
+        continue;
+      }
+      var origin = OriginLookup.getOrigin(propertySource, name);
+      result.add(
+          new PropertyOriginDescriptor(
+              propertySource.getName(), origin != null ? origin.toString() : null));
+    }
+    return result.isEmpty() ? null : new PropertyDescriptor(name, result);
+  }
+
+  /** The Pkl property sources of the environment, in order of precedence. */
+  public record PklDescriptor(List<PropertySourceDescriptor> propertySources) {}
+
+  /** A Pkl property source and how it was loaded. */
+  public record PropertySourceDescriptor(
+      String name,
+      String resource,
+      PklLoadInfo.Origin origin,
+      Duration evaluationTime,
+      Duration flatteningTime,
+      int propertyCount,
+      long estimatedSize) {}
+
+  /** The Pkl property sources that define a property, in order of precedence. */
+  public record PropertyDescriptor(String name, List<PropertyOriginDescriptor> propertySources) {}
+
+  /** A Pkl property source that defines a property, and the property's origin. */
+  public record PropertyOriginDescriptor(String name, @Nullable String origin) {}
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import org.springframework.boot.ConfigurableBootstrapContext;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.config.ConfigDataEnvironmentPostProcessor;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.io.DefaultResourceLoader;
+
+/**
+ * Captures {@link PklSettings} right before Spring Boot loads the application's config files,
+ * storing them in the bootstrap context as part of a {@link PklStartup}, and starts {@linkplain
+ * PklModulePrefetcher prefetching} config files if enabled.
+ */
+public class PklEnvironmentPostProcessor implements EnvironmentPostProcessor, Ordered {
+  public static final int ORDER = ConfigDataEnvironmentPostProcessor.ORDER - 1;
+
+  private final ConfigurableBootstrapContext bootstrapContext;
+
+  public PklEnvironmentPostProcessor(ConfigurableBootstrapContext bootstrapContext) {
+    this.bootstrapContext = bootstrapContext;
+  }
+
+  @Override
+  public void postProcessEnvironment(
+      ConfigurableEnvironment environment, SpringApplication application) {
+    var settings = new PklSettings(environment);
+    var startup = PklStartup.start(bootstrapContext, application, settings);
+    // config files evaluated ahead of time are not evaluated again
+    if (settings.isPrefetchEnabled() && !PklAotProperties.isAvailable(settings)) {
+      var resourceLoader =
+          application.getResourceLoader() != null
+              ? application.getResourceLoader()
+              : new DefaultResourceLoader(application.getClassLoader());
+      startup.prefetch(PklModulePrefetcher.findConfigFiles(environment, resourceLoader));
+    }
+  }
+
+  @Override
+  public int getOrder() {
+    return ORDER;
+  }
+}
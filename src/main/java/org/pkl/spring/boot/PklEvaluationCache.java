@@ -0,0 +1,173 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.pkl.core.PModule;
+import org.pkl.core.Release;
+import org.springframework.lang.Nullable;
+
+/**
+ * A persistent cache of evaluated Pkl modules, stored in a directory.
+ *
+ * <p>Entries are keyed by a hash of the module's URI and text, the URIs and contents of all modules
+ * and resources it transitively depends on (see {@link PklModuleDependencies}), the evaluator
+ * settings (see {@link PklEvaluators#updateDigest}), and the Pkl version. Changing any of these
+ * results in a cache miss. Modules whose dependencies cannot be determined statically are never
+ * cached. Neither are modules that read environment variables or external properties, whose values
+ * would otherwise be written to disk in plain text. Because the effect of a {@link
+ * PklEvaluatorCustomizer} cannot be hashed, the cache is bypassed if customizers are registered.
+ *
+ * <p>Entries are written atomically, hence a cache directory can be shared by concurrently starting
+ * applications. Stale entries are never read again and can be deleted at any time.
+ */
+final class PklEvaluationCache {
+  // bump when the entry format or key derivation changes
+  private static final int FORMAT_VERSION = 2;
+  private static final String ENTRY_SUFFIX = ".pklcache";
+
+  private static final ObjectInputFilter ENTRY_FILTER =
+      ObjectInputFilter.Config.createFilter(
+          "maxdepth=1000;org.pkl.core.**;java.lang.*;java.util.*;java.util.regex.Pattern;"
+              + "java.net.URI;!*");
+
+  private final Path directory;
+  private final PklSettings settings;
+
+  /** Creates a cache for modules evaluated with {@code settings}. */
+  PklEvaluationCache(Path directory, PklSettings settings) {
+    this.directory = directory;
+    this.settings = settings;
+  }
+
+  /**
+   * Returns a cache for the directory configured with {@code pkl.cache.dir}, or {@code null} if
+   * none is configured or customizers are registered.
+   */
+  static @Nullable PklEvaluationCache fromSettings(PklSettings settings) {
+    var directory = settings.getCacheDir();
+    if (directory == null || !settings.getEvaluatorCustomizers().isEmpty()) return null;
+    return new PklEvaluationCache(directory, settings);
+  }
+
+  /**
+   * Returns the cached result of evaluating the module with the given URI and text, or evaluates it
+   * with {@code evaluation} and caches the result if possible.
+   */
+  PModule evaluate(URI moduleUri, String moduleText, Supplier<PModule> evaluation) {
+    // modules reading environment variables or external properties are not cached
+    var dependencies = PklModuleDependencies.collect(moduleUri, moduleText, Map.of(), Map.of());
+    return dependencies == null ? evaluation.get() : evaluate(dependencies, evaluation);
+  }
+
+  /** Whether the result of evaluating a module with the given dependencies can be cached. */
+  static boolean isCacheable(PklModuleDependencies dependencies) {
+    return dependencies.getEnvironmentUri() == null;
+  }
+
+  /**
+   * Returns the cached result of evaluating the module with the given dependencies, or evaluates it
+   * with {@code evaluation} and caches the result if possible.
+   */
+  PModule evaluate(PklModuleDependencies dependencies, Supplier<PModule> evaluation) {
+    if (!isCacheable(dependencies)) return evaluation.get();
+    var entry = directory.resolve(key(dependencies) + ENTRY_SUFFIX);
+    var cached = read(entry);
+    if (cached != null) return cached;
+    var result = evaluation.get();
+    write(entry, result);
+    return result;
+  }
+
+  private String key(PklModuleDependencies dependencies) {
+    var digest = PklModuleDependencies.newDigest();
+    digest.update(
+        ("pkl-spring-cache:" + FORMAT_VERSION + ':' + Release.current().version() + '\n')
+            .getBytes(StandardCharsets.UTF_8));
+    dependencies.update(digest, false);
+    PklEvaluators.updateDigest(digest, settings);
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  /** Reads a module written with {@link #writeModule}, accepting only Pkl value types. */
+  static PModule readModule(InputStream stream) throws IOException {
+    var objectStream = new ObjectInputStream(stream);
+    objectStream.setObjectInputFilter(ENTRY_FILTER);
+    try {
+      return (PModule) objectStream.readObject();
+    } catch (ClassNotFoundException | ClassCastException e) {
+      throw new InvalidObjectException("Not a serialized Pkl module: " + e.getMessage());
+    }
+  }
+
+  static void writeModule(OutputStream stream, PModule module) throws IOException {
+    var objectStream = new ObjectOutputStream(stream);
+    objectStream.writeObject(module);
+    objectStream.flush();
+  }
+
+  private static @Nullable PModule read(Path entry) {
+    try (var stream = Files.newInputStream(entry)) {
+      return readModule(stream);
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (IOException e) {
+      // corrupt or incompatible entry; it will be overwritten
+      return null;
+    }
+  }
+
+  private void write(Path entry, PModule module) {
+    Path tempFile = null;
+    try {
+      Files.createDirectories(directory);
+      tempFile = Files.createTempFile(directory, "entry", ".tmp");
+      try (var stream = Files.newOutputStream(tempFile)) {
+        writeModule(stream, module);
+      }
+      try {
+        Files.move(tempFile, entry, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tempFile, entry, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException e) {
+      // the cache is an optimization; failing to write an entry must not fail loading
+      if (tempFile != null) {
+        try {
+          Files.deleteIfExists(tempFile);
+        } catch (IOException ignored) {
+          // nothing more we can do
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,37 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import org.pkl.core.EvaluatorBuilder;
+
+/**
+ * Customizes the Pkl evaluators that load config files.
+ *
+ * <p>Config files are loaded before the application context exists. Hence customizers are not
+ * beans, but are registered in {@code META-INF/spring.factories} under the key {@code
+ * org.pkl.spring.boot.PklEvaluatorCustomizer}. Customizers are applied in {@linkplain
+ * org.springframework.core.annotation.Order order}, after the bootstrap properties under {@code
+ * pkl.evaluator}.
+ *
+ * <p>Evaluated config files can be shared within a JVM, cached on disk, and loaded from build-time
+ * snapshots, based on their contents and the contents of the modules and resources they depend on.
+ * Because a customizer can make evaluation results depend on anything else, for example by adding a
+ * resource reader, none of these apply if a customizer is registered.
+ */
+@FunctionalInterface
+public interface PklEvaluatorCustomizer {
+  void customize(EvaluatorBuilder builder);
+}
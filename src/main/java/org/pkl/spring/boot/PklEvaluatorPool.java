@@ -0,0 +1,140 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.pkl.core.Evaluator;
+
+/**
+ * A thread-safe pool of Pkl {@link Evaluator}s.
+ *
+ * <p>Creating an evaluator is expensive compared to evaluating a typical config module. Reusing
+ * evaluators across loads avoids paying this cost for every config file, and lets modules imported
+ * by several config files (such as a shared schema) be evaluated only once.
+ *
+ * <p>An evaluator is used by one thread at a time. At most {@code maxSize} evaluators exist at any
+ * time; callers block until an evaluator becomes available. Evaluators that have been idle for
+ * longer than {@code idleTimeout} are closed. An idle timeout of zero disables reuse.
+ *
+ * <p>During application startup, {@link PklPropertySourceLoader} uses the pool of the {@link
+ * PklStartup}, which is closed once all config files have been loaded.
+ */
+public final class PklEvaluatorPool implements AutoCloseable {
+  private final Supplier<Evaluator> factory;
+  private final Duration idleTimeout;
+  private final Semaphore permits;
+  private final Deque<IdleEvaluator> idle = new ArrayDeque<>();
+  private boolean closed;
+
+  public PklEvaluatorPool(Supplier<Evaluator> factory, int maxSize, Duration idleTimeout) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("`maxSize` must be positive, but was " + maxSize + '.');
+    }
+    if (idleTimeout.isNegative()) {
+      throw new IllegalArgumentException(
+          "`idleTimeout` must not be negative, but was " + idleTimeout + '.');
+    }
+    this.factory = factory;
+    this.idleTimeout = idleTimeout;
+    permits = new Semaphore(maxSize, true);
+  }
+
+  /**
+   * Runs {@code action} with an evaluator that is not used by any other thread until {@code action}
+   * returns.
+   *
+   * <p>If {@code action} throws, the evaluator is closed instead of being returned to the pool.
+   */
+  public <T> T execute(Function<? super Evaluator, T> action) {
+    try {
+      permits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a Pkl evaluator.", e);
+    }
+    try {
+      var evaluator = borrow();
+      T result;
+      try {
+        result = action.apply(evaluator);
+      } catch (RuntimeException | Error e) {
+        evaluator.close();
+        throw e;
+      }
+      release(evaluator);
+      return result;
+    } finally {
+      permits.release();
+    }
+  }
+
+  /** Closes all idle evaluators. Evaluators currently in use are closed when released. */
+  @Override
+  public void close() {
+    synchronized (idle) {
+      closed = true;
+      closeAll(new ArrayList<>(idle));
+      idle.clear();
+    }
+  }
+
+  private Evaluator borrow() {
+    var now = System.nanoTime();
+    IdleEvaluator candidate;
+    var expired = new ArrayList<IdleEvaluator>();
+    synchronized (idle) {
+      // most recently used evaluators are at the head, expired ones accumulate at the tail
+      while ((candidate = idle.peekLast()) != null && candidate.isExpired(now, idleTimeout)) {
+        expired.add(idle.pollLast());
+      }
+      candidate = idle.pollFirst();
+    }
+    closeAll(expired);
+    return candidate != null ? candidate.evaluator : factory.get();
+  }
+
+  private void release(Evaluator evaluator) {
+    if (idleTimeout.isZero()) {
+      evaluator.close();
+      return;
+    }
+    synchronized (idle) {
+      if (!closed) {
+        idle.addFirst(new IdleEvaluator(evaluator, System.nanoTime()));
+        return;
+      }
+    }
+    evaluator.close();
+  }
+
+  private static void closeAll(Iterable<IdleEvaluator> evaluators) {
+    for (var entry : evaluators) {
+      entry.evaluator.close();
+    }
+  }
+
+  private record IdleEvaluator(Evaluator evaluator, long idleSince) {
+    boolean isExpired(long now, Duration idleTimeout) {
+      return now - idleSince >= idleTimeout.toNanos();
+    }
+  }
+}
@@ -0,0 +1,191 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.pkl.core.Evaluator;
+import org.pkl.core.EvaluatorBuilder;
+import org.pkl.core.ModuleSource;
+import org.pkl.core.PModule;
+import org.pkl.core.PklException;
+import org.pkl.core.module.ModuleKeyFactories;
+import org.pkl.core.module.ModuleKeyFactory;
+import org.pkl.core.module.ModulePathResolver;
+import org.pkl.core.resource.ResourceReaders;
+
+/**
+ * Creates Pkl evaluators for loading config files, as configured by {@link PklSettings}, and
+ * evaluates config files with them.
+ */
+final class PklEvaluators {
+  // module path resolvers hold open jar files, hence are shared and live as long as the JVM
+  private static final Map<List<Path>, ModulePathResolver> modulePathResolvers =
+      new ConcurrentHashMap<>();
+
+  // Truffle reads `polyglot.*` system properties when Pkl creates its engine
+  private static final Map<String, String> startupEngineOptions =
+      Map.of("polyglot.engine.Compilation", "false");
+
+  private static final Object engineLock = new Object();
+  // Pkl creates one engine per JVM, together with its first evaluator
+  private static volatile boolean engineCreated;
+
+  private PklEvaluators() {}
+
+  /** Creates an evaluator configured with the given settings. */
+  static Evaluator create(PklSettings settings) {
+    return PklInstrumentation.createEvaluator(
+        () -> build(settings, () -> newBuilder(settings).build()));
+  }
+
+  /** Creates an evaluator builder configured with the given settings. */
+  static EvaluatorBuilder newBuilder(PklSettings settings) {
+    var builder = EvaluatorBuilder.preconfigured();
+    // ahead of Pkl's generic URL support, which would otherwise handle `jar:` URIs
+    var moduleKeyFactories = new ArrayList<ModuleKeyFactory>();
+    moduleKeyFactories.add(PklJarModuleKeyFactory.INSTANCE);
+    moduleKeyFactories.addAll(builder.getModuleKeyFactories());
+    builder.setModuleKeyFactories(moduleKeyFactories);
+    var timeout = settings.getEvaluatorTimeout();
+    if (timeout != null) builder.setTimeout(timeout);
+    if (!settings.getAllowedModules().isEmpty()) {
+      builder.setAllowedModules(settings.getAllowedModules());
+    }
+    if (!settings.getAllowedResources().isEmpty()) {
+      builder.setAllowedResources(settings.getAllowedResources());
+    }
+    var modulePath = settings.getModulePath();
+    if (!modulePath.isEmpty()) {
+      var resolver = modulePathResolvers.computeIfAbsent(modulePath, ModulePathResolver::new);
+      builder.addModuleKeyFactory(ModuleKeyFactories.modulePath(resolver));
+      builder.addResourceReader(ResourceReaders.modulePath(resolver));
+    }
+    builder.addExternalProperties(settings.getExternalProperties());
+    for (var customizer : settings.getEvaluatorCustomizers()) {
+      customizer.customize(builder);
+    }
+    return builder;
+  }
+
+  /**
+   * Adds the settings that affect the result of evaluating a config file to {@code digest}: allowed
+   * modules and resources, module path, timeout, and external properties. The effect of {@linkplain
+   * PklSettings#getEvaluatorCustomizers() customizers} cannot be digested; results evaluated with
+   * customizers must not be reused under other settings.
+   */
+  static void updateDigest(MessageDigest digest, PklSettings settings) {
+    var result = new StringBuilder();
+    for (var pattern : settings.getAllowedModules()) {
+      result.append("allowed-module:").append(pattern.pattern()).append('\n');
+    }
+    for (var pattern : settings.getAllowedResources()) {
+      result.append("allowed-resource:").append(pattern.pattern()).append('\n');
+    }
+    for (var path : settings.getModulePath()) {
+      result.append("module-path:").append(path.toAbsolutePath()).append('\n');
+    }
+    result.append("timeout:").append(settings.getEvaluatorTimeout()).append('\n');
+    new TreeMap<>(settings.getExternalProperties())
+        .forEach(
+            (name, value) ->
+                result
+                    .append("external-property:")
+                    .append(name)
+                    .append('=')
+                    .append(value)
+                    .append('\n'));
+    digest.update(result.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Builds an evaluator with {@code builder}, applying the Truffle options of the configured engine
+   * mode if Pkl's engine has yet to be created.
+   *
+   * <p>Pkl offers no way to pass options to its engine, which Truffle instead reads from {@code
+   * polyglot.*} system properties. Hence options not already set are set as system properties while
+   * the first evaluator is built, and are cleared afterwards. Until then, evaluators are built one
+   * at a time, so that evaluators built concurrently, such as by {@linkplain PklModulePrefetcher
+   * prefetching}, neither create the engine nor read the system properties in the meantime. Truffle
+   * engines created concurrently by other code in the JVM see the options too. If Pkl's engine
+   * already exists, options have no effect.
+   */
+  static Evaluator build(PklSettings settings, Supplier<Evaluator> builder) {
+    if (engineCreated) return builder.get();
+    synchronized (engineLock) {
+      if (engineCreated) return builder.get();
+      var setOptions = new ArrayList<String>();
+      if (settings.getEngineMode() == PklSettings.EngineMode.STARTUP) {
+        for (var option : startupEngineOptions.entrySet()) {
+          if (System.getProperty(option.getKey()) == null) {
+            System.setProperty(option.getKey(), option.getValue());
+            setOptions.add(option.getKey());
+          }
+        }
+      }
+      try {
+        var result = builder.get();
+        engineCreated = true;
+        return result;
+      } finally {
+        for (var option : setOptions) {
+          System.clearProperty(option);
+        }
+      }
+    }
+  }
+
+  /** Whether Pkl's engine was created by an evaluator built with {@link #build}. */
+  static boolean isEngineCreated() {
+    return engineCreated;
+  }
+
+  /**
+   * Evaluates a config file, reporting a timeout with the bootstrap property that configures it.
+   *
+   * <p>Kept out of {@link PklPropertySourceLoader}, which is loaded by every application, so that
+   * verifying it does not load Pkl's exception class.
+   */
+  static PModule evaluate(PklSettings settings, Evaluator evaluator, ModuleSource moduleSource) {
+    var step = PklInstrumentation.start("pkl.config.evaluate");
+    step.tag("module", moduleSource.getUri().toString());
+    var startTime = System.nanoTime();
+    try {
+      return evaluator.evaluate(moduleSource);
+    } catch (PklException e) {
+      var timeout = settings.getEvaluatorTimeout();
+      if (timeout != null && System.nanoTime() - startTime >= timeout.toNanos()) {
+        throw new IllegalStateException(
+            "Timed out after "
+                + timeout
+                + " while evaluating Pkl config file `"
+                + moduleSource.getUri()
+                + "`. The timeout is set with bootstrap property `pkl.evaluator.timeout`.",
+            e);
+      }
+      throw e;
+    } finally {
+      step.end();
+    }
+  }
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.pkl.core.Evaluator;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+/**
+ * Records how long loading Pkl config files takes.
+ *
+ * <p>Steps are recorded with the {@link ApplicationStartup} of the {@linkplain PklStartup#current()
+ * current startup}, which is only retained until its config files have been loaded. Unless the
+ * application is configured with a recording {@code ApplicationStartup}, such as {@code
+ * BufferingApplicationStartup} or {@code FlightRecorderApplicationStartup}, recording a step does
+ * nothing.
+ */
+final class PklInstrumentation {
+  private static final LongAdder evaluatorCount = new LongAdder();
+  private static final LongAdder evaluatorCreationNanos = new LongAdder();
+
+  private PklInstrumentation() {}
+
+  static StartupStep start(String name) {
+    return PklStartup.current().getApplicationStartup().start(name);
+  }
+
+  /** Creates an evaluator with {@code factory}, recording a step and the time taken. */
+  static Evaluator createEvaluator(Supplier<Evaluator> factory) {
+    var step = start("pkl.evaluator.create");
+    var startTime = System.nanoTime();
+    try {
+      return factory.get();
+    } finally {
+      evaluatorCreationNanos.add(System.nanoTime() - startTime);
+      evaluatorCount.increment();
+      step.end();
+    }
+  }
+
+  /** The number of evaluators created for loading config files in this JVM. */
+  static long getEvaluatorCount() {
+    return evaluatorCount.sum();
+  }
+
+  /** The total time spent creating evaluators for loading config files in this JVM. */
+  static long getEvaluatorCreationNanos() {
+    return evaluatorCreationNanos.sum();
+  }
+}
@@ -0,0 +1,173 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedFileSystemException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import org.pkl.core.SecurityManager;
+import org.pkl.core.SecurityManagerException;
+import org.pkl.core.module.ModuleKey;
+import org.pkl.core.module.ModuleKeyFactory;
+import org.pkl.core.module.ResolvedModuleKey;
+import org.pkl.core.module.ResolvedModuleKeys;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Resolves {@code jar:} module URIs, such as the URIs of config files packaged in an application
+ * jar, and caches the contents of each module while config files are loaded.
+ *
+ * <p>Pkl's generic URL support opens a URL connection for every evaluator that imports a module.
+ * This factory instead reads each module once, and evaluators and {@link PklModuleDependencies}
+ * share the cached contents. Entries are read through the jar's NIO file system; a file system
+ * opened for reading an entry is closed again. If no file system provider handles a jar, as can be
+ * the case for jars nested in a Spring Boot fat jar, the entry is read through its URL instead.
+ * Contents are softly referenced and are cleared once an application's config files have been
+ * loaded (see {@link PklStartup}). Jars are assumed not to change while config files are loaded.
+ *
+ * <p>Reading does not hold locks, so virtual threads are not pinned while waiting for I/O. Two
+ * threads reading the same module concurrently may both read it, and the first result is kept.
+ */
+final class PklJarModuleKeyFactory implements ModuleKeyFactory {
+  static final PklJarModuleKeyFactory INSTANCE = new PklJarModuleKeyFactory();
+
+  private static final Map<URI, byte[]> contents =
+      new ConcurrentReferenceHashMap<>(16, ConcurrentReferenceHashMap.ReferenceType.SOFT);
+
+  private PklJarModuleKeyFactory() {}
+
+  @Override
+  public Optional<ModuleKey> create(URI uri) {
+    return isJarUri(uri) ? Optional.of(new JarModuleKey(uri)) : Optional.empty();
+  }
+
+  static boolean isJarUri(URI uri) {
+    return "jar".equalsIgnoreCase(uri.getScheme()) && uri.getSchemeSpecificPart().contains("!/");
+  }
+
+  /**
+   * Returns the contents of the jar entry with the given URI, or {@code null} if it does not exist.
+   */
+  @Nullable
+  static byte[] read(URI uri) throws IOException {
+    var result = contents.get(uri);
+    if (result != null) return result;
+    result = load(uri);
+    if (result == null) return null;
+    var existing = contents.putIfAbsent(uri, result);
+    return existing != null ? existing : result;
+  }
+
+  /** Returns the text of the jar entry with the given URI. */
+  static String readString(URI uri) throws IOException {
+    var bytes = read(uri);
+    if (bytes == null) throw new FileNotFoundException(uri.toString());
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  static void clear() {
+    contents.clear();
+  }
+
+  @Nullable
+  private static byte[] load(URI uri) throws IOException {
+    try {
+      var result = readFromFileSystem(uri);
+      if (result != null) return result;
+      try (var stream = uri.toURL().openStream()) {
+        return stream.readAllBytes();
+      }
+    } catch (NoSuchFileException | FileNotFoundException e) {
+      return null;
+    }
+  }
+
+  // reads the entry through the jar's file system, or returns `null` if no provider handles the jar
+  @Nullable
+  private static byte[] readFromFileSystem(URI uri) throws IOException {
+    try {
+      // the jar's file system is already open, for example because the jar is on the class path
+      return Files.readAllBytes(Path.of(uri));
+    } catch (FileSystemNotFoundException e) {
+      var path = uri.getSchemeSpecificPart();
+      var separator = path.indexOf("!/");
+      // entries of nested jars, such as the jars in a Spring Boot fat jar, are read through the URL
+      if (separator != path.lastIndexOf("!/")) return null;
+      FileSystem fileSystem;
+      try {
+        fileSystem = FileSystems.newFileSystem(uri, Map.of());
+      } catch (IOException | RuntimeException ignored) {
+        // no provider for the jar, or opened by another thread in the meantime
+        return null;
+      }
+      try (fileSystem) {
+        return Files.readAllBytes(fileSystem.getPath(path.substring(separator + 1)));
+      }
+    } catch (ClosedFileSystemException e) {
+      // opened by another thread, which closed it in the meantime
+      return null;
+    } catch (RuntimeException e) {
+      // no provider for the jar's scheme, or a malformed URI
+      return null;
+    }
+  }
+
+  private static final class JarModuleKey implements ModuleKey {
+    private final URI uri;
+
+    JarModuleKey(URI uri) {
+      this.uri = uri;
+    }
+
+    @Override
+    public URI getUri() {
+      return uri;
+    }
+
+    @Override
+    public boolean hasHierarchicalUris() {
+      return false;
+    }
+
+    @Override
+    public boolean isGlobbable() {
+      return false;
+    }
+
+    @Override
+    public boolean isLocal() {
+      return true;
+    }
+
+    @Override
+    public ResolvedModuleKey resolve(SecurityManager securityManager)
+        throws IOException, SecurityManagerException {
+      securityManager.checkResolveModule(uri);
+      return ResolvedModuleKeys.virtual(this, uri, readString(uri), true);
+    }
+  }
+}
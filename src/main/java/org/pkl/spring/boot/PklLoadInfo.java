@@ -0,0 +1,148 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.pkl.core.PModule;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+/**
+ * Information about how a Pkl config file was loaded into a property source.
+ *
+ * <p>Property counts and size estimates are computed when first requested.
+ */
+public final class PklLoadInfo {
+  private final Resource resource;
+  private final Origin origin;
+  private final Duration evaluationTime;
+  private final Duration flatteningTime;
+  // flattened properties or module
+  private final Object properties;
+
+  private volatile int propertyCount = -1;
+  private volatile long estimatedSize = -1;
+
+  PklLoadInfo(
+      Resource resource,
+      Origin origin,
+      Duration evaluationTime,
+      Duration flatteningTime,
+      Object properties) {
+    this.resource = resource;
+    this.origin = origin;
+    this.evaluationTime = evaluationTime;
+    this.flatteningTime = flatteningTime;
+    this.properties = properties;
+  }
+
+  /** Returns the information for {@code propertySource}, or {@code null} if it has none. */
+  public static @Nullable PklLoadInfo of(PropertySource<?> propertySource) {
+    if (propertySource instanceof PklPropertySource pklPropertySource) {
+      return pklPropertySource.getLoadInfo();
+    }
+    if (propertySource instanceof PklMapPropertySource pklMapPropertySource) {
+      return pklMapPropertySource.getLoadInfo();
+    }
+    return null;
+  }
+
+  /** The config file that was loaded. */
+  public Resource getResource() {
+    return resource;
+  }
+
+  /** How the evaluated config file was obtained. */
+  public Origin getOrigin() {
+    return origin;
+  }
+
+  /**
+   * The time it took to obtain the evaluated config file, including reading a snapshot or cache
+   * entry, and creating an evaluator if necessary.
+   */
+  public Duration getEvaluationTime() {
+    return evaluationTime;
+  }
+
+  /** The time it took to flatten the evaluated config file, or zero if it was not flattened. */
+  public Duration getFlatteningTime() {
+    return flatteningTime;
+  }
+
+  /** The number of properties, that is, the number of leaf values of the config file. */
+  public int getPropertyCount() {
+    var result = propertyCount;
+    if (result == -1) {
+      if (properties instanceof Map<?, ?> map) {
+        result = map.size();
+      } else {
+        var count = new AtomicInteger();
+        ((PModule) properties)
+            .getProperties()
+            .forEach(
+                (name, value) ->
+                    PklPropertySourceLoader.flatten(
+                        name, value, (key, leaf) -> count.incrementAndGet()));
+        result = count.get();
+      }
+      propertyCount = result;
+    }
+    return result;
+  }
+
+  /** An estimate of the heap in bytes retained by the property source's values. */
+  public long getEstimatedSize() {
+    var result = estimatedSize;
+    if (result == -1) {
+      result = PklSizeEstimator.estimate(properties);
+      estimatedSize = result;
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return "PklLoadInfo{resource="
+        + resource
+        + ", origin="
+        + origin
+        + ", evaluationTime="
+        + evaluationTime
+        + ", flatteningTime="
+        + flatteningTime
+        + '}';
+  }
+
+  /** How an evaluated config file was obtained. */
+  public enum Origin {
+    /** The config file was evaluated. */
+    EVALUATION,
+    /** The config file was evaluated because the evaluation cache had no entry for it. */
+    CACHE_MISS,
+    /** The evaluated config file was read from the evaluation cache. */
+    CACHE_HIT,
+    /** The evaluated config file was shared by another application in the same JVM. */
+    SHARED_CACHE_HIT,
+    /** The evaluated config file was read from a build-time snapshot. */
+    SNAPSHOT,
+    /** The config file was evaluated during ahead-of-time processing. */
+    AOT
+  }
+}
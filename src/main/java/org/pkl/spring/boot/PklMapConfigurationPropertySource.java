@@ -0,0 +1,88 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.springframework.boot.context.properties.source.ConfigurationProperty;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyState;
+import org.springframework.boot.context.properties.source.IterableConfigurationPropertySource;
+import org.springframework.lang.Nullable;
+
+/**
+ * A {@link org.springframework.boot.context.properties.source.ConfigurationPropertySource} that
+ * answers lookups from the index of a {@link PklMapPropertySource}'s {@link PklPropertyMap}.
+ *
+ * <p>Like {@link PklConfigurationPropertySource}, this source matches the elements of a requested
+ * name against the Pkl property tree instead of parsing every property name, which makes {@link
+ * #getConfigurationProperty} and {@link #containsDescendantOf} independent of the total number of
+ * properties. Property names are only parsed if the source is iterated, as happens when binding a
+ * map.
+ */
+final class PklMapConfigurationPropertySource implements IterableConfigurationPropertySource {
+  private final PklMapPropertySource propertySource;
+  private final PklPropertyMap properties;
+
+  @Nullable private volatile ConfigurationPropertyName[] names;
+
+  PklMapConfigurationPropertySource(
+      PklMapPropertySource propertySource, PklPropertyMap properties) {
+    this.propertySource = propertySource;
+    this.properties = properties;
+  }
+
+  @Override
+  public @Nullable ConfigurationProperty getConfigurationProperty(
+      @Nullable ConfigurationPropertyName name) {
+    if (name == null) return null;
+    var value = properties.get(name);
+    return value == null
+        ? null
+        : new ConfigurationProperty(name, value, propertySource.getOrigin());
+  }
+
+  @Override
+  public ConfigurationPropertyState containsDescendantOf(ConfigurationPropertyName name) {
+    return properties.containsDescendantOf(name);
+  }
+
+  @Override
+  public Stream<ConfigurationPropertyName> stream() {
+    var result = names;
+    if (result == null) {
+      var list = new ArrayList<ConfigurationPropertyName>();
+      for (var name : properties.getNames()) {
+        var configurationName = ConfigurationPropertyName.adapt(name, '.');
+        if (!configurationName.isEmpty()) list.add(configurationName);
+      }
+      result = list.toArray(ConfigurationPropertyName[]::new);
+      names = result;
+    }
+    return Arrays.stream(result);
+  }
+
+  @Override
+  public Object getUnderlyingSource() {
+    return propertySource;
+  }
+
+  @Override
+  public String toString() {
+    return propertySource.toString();
+  }
+}
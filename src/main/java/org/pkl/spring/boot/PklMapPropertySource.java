@@ -0,0 +1,91 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.util.Map;
+import org.pkl.core.PModule;
+import org.springframework.boot.origin.Origin;
+import org.springframework.boot.origin.OriginLookup;
+import org.springframework.boot.origin.TextResourceOrigin;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.lang.Nullable;
+
+/**
+ * A {@link MapPropertySource} holding the flattened properties of an evaluated Pkl module.
+ *
+ * <p>Properties loaded by {@link PklPropertySourceLoader} are stored in a compact, immutable map.
+ *
+ * <p>Created by {@link PklPropertySourceLoader} if bootstrap property {@code pkl.loader.mode} is
+ * {@code flat} (the default).
+ */
+public class PklMapPropertySource extends MapPropertySource implements OriginLookup<String> {
+  @Nullable private final PModule module;
+  @Nullable private final PklLoadInfo loadInfo;
+  @Nullable private final Origin origin;
+
+  /**
+   * Creates a property source with the given flattened properties.
+   *
+   * <p>{@code module} is retained only if it is needed after loading, for example to bind config
+   * classes with Pkl's {@link org.pkl.config.java.mapper.ValueMapper}.
+   */
+  public PklMapPropertySource(
+      String name,
+      Map<String, Object> source,
+      @Nullable PModule module,
+      @Nullable PklLoadInfo loadInfo) {
+    super(name, source);
+    this.module = module;
+    this.loadInfo = loadInfo;
+    origin = loadInfo != null ? new TextResourceOrigin(loadInfo.getResource(), null) : null;
+  }
+
+  @Override
+  public String[] getPropertyNames() {
+    return source instanceof PklPropertyMap map ? map.getNames() : super.getPropertyNames();
+  }
+
+  /** Returns the module that this property source was flattened from, if it was retained. */
+  public @Nullable PModule getModule() {
+    return module;
+  }
+
+  /** Returns the config file that defines the given property, if known. */
+  @Override
+  public @Nullable Origin getOrigin(String name) {
+    return origin != null && containsProperty(name) ? origin : null;
+  }
+
+  /**
+   * Returns the config file that defines this property source's properties, if known. Used by
+   * adapters that resolve a property without knowing its name in this property source.
+   */
+  @Nullable
+  Origin getOrigin() {
+    return origin;
+  }
+
+  /** Returns {@code true}; a reloaded config file replaces its property source. */
+  @Override
+  public boolean isImmutable() {
+    return true;
+  }
+
+  /** Returns information about how this property source was loaded, if available. */
+  public @Nullable PklLoadInfo getLoadInfo() {
+    return loadInfo;
+  }
+}
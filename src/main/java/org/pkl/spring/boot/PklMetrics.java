@@ -0,0 +1,97 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+/**
+ * Exposes the {@link PklLoadInfo} of each Pkl property source, and evaluator statistics, as
+ * Micrometer meters.
+ *
+ * <p>Meters are tagged with the property source's config file and look up the property source
+ * whenever they are read, hence reflect reloaded config files.
+ */
+final class PklMetrics implements MeterBinder {
+  private final ConfigurableEnvironment environment;
+
+  PklMetrics(ConfigurableEnvironment environment) {
+    this.environment = environment;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    for (var propertySource : environment.getPropertySources()) {
+      var loadInfo = PklLoadInfo.of(propertySource);
+      if (loadInfo == null) continue;
+      var name = propertySource.getName();
+      var tags = Tags.of("resource", loadInfo.getResource().getDescription());
+      TimeGauge.builder(
+              "pkl.config.evaluation.time",
+              this,
+              TimeUnit.NANOSECONDS,
+              (metrics) -> metrics.get(name, (info) -> info.getEvaluationTime().toNanos()))
+          .description("Time taken to evaluate a Pkl config file")
+          .tags(tags)
+          .register(registry);
+      TimeGauge.builder(
+              "pkl.config.flattening.time",
+              this,
+              TimeUnit.NANOSECONDS,
+              (metrics) -> metrics.get(name, (info) -> info.getFlatteningTime().toNanos()))
+          .description("Time taken to flatten an evaluated Pkl config file")
+          .tags(tags)
+          .register(registry);
+      Gauge.builder(
+              "pkl.config.properties",
+              this,
+              (metrics) -> metrics.get(name, PklLoadInfo::getPropertyCount))
+          .description("Number of properties of a Pkl config file")
+          .tags(tags)
+          .register(registry);
+      Gauge.builder(
+              "pkl.config.size",
+              this,
+              (metrics) -> metrics.get(name, PklLoadInfo::getEstimatedSize))
+          .description("Estimated heap retained by the properties of a Pkl config file")
+          .baseUnit(BaseUnits.BYTES)
+          .tags(tags)
+          .register(registry);
+    }
+    FunctionTimer.builder(
+            "pkl.evaluator.creation",
+            this,
+            (metrics) -> PklInstrumentation.getEvaluatorCount(),
+            (metrics) -> PklInstrumentation.getEvaluatorCreationNanos(),
+            TimeUnit.NANOSECONDS)
+        .description("Pkl evaluators created for loading config files")
+        .register(registry);
+  }
+
+  private double get(String propertySourceName, ToDoubleFunction<PklLoadInfo> function) {
+    var propertySource = environment.getPropertySources().get(propertySourceName);
+    var loadInfo = propertySource != null ? PklLoadInfo.of(propertySource) : null;
+    return loadInfo != null ? function.applyAsDouble(loadInfo) : Double.NaN;
+  }
+}
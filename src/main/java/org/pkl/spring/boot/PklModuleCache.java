@@ -0,0 +1,115 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import org.pkl.core.PModule;
+import org.pkl.core.Release;
+import org.springframework.lang.Nullable;
+
+/**
+ * A bounded in-memory cache of evaluated Pkl modules, shared by all applications in a JVM.
+ *
+ * <p>Test suites typically start many application contexts that load the same config files. This
+ * cache lets them share evaluated modules, which are immutable. Entries are keyed by a hash of the
+ * module's URI and text, and the URIs and contents of all modules and resources it transitively
+ * depends on (see {@link PklModuleDependencies}), and the evaluator settings that restrict what it
+ * may import and read. Changing any of these results in a cache miss, so an application with
+ * stricter {@code pkl.evaluator.*} settings never receives a module evaluated under laxer ones.
+ * Because the effect of a {@link PklEvaluatorCustomizer} cannot be hashed, the cache is bypassed if
+ * customizers are registered.
+ *
+ * <p>Once the cache holds bootstrap property {@code pkl.module-cache.max-entries} modules, the
+ * least recently used module is evicted. The cache retains evaluated modules for the lifetime of
+ * the JVM and hashes the dependencies of every loaded module, which only pays off if many
+ * applications are started; hence it is only enabled if bootstrap property {@code
+ * pkl.module-cache.enabled} is {@code true}, typically in tests.
+ */
+final class PklModuleCache {
+  private static final PklModuleCache shared = new PklModuleCache();
+
+  private final LinkedHashMap<String, PModule> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private int maxEntries = Integer.MAX_VALUE;
+
+  /** Returns the shared cache, bounded as configured, or {@code null} if it is disabled. */
+  static @Nullable PklModuleCache fromSettings(PklSettings settings) {
+    if (!settings.isModuleCacheEnabled() || !settings.getEvaluatorCustomizers().isEmpty()) {
+      return null;
+    }
+    shared.setMaxEntries(settings.getModuleCacheMaxEntries());
+    return shared;
+  }
+
+  static PklModuleCache shared() {
+    return shared;
+  }
+
+  /** Returns the cached module with the given dependencies and evaluator settings, if any. */
+  @Nullable
+  PModule get(PklModuleDependencies dependencies, PklSettings settings) {
+    var key = key(dependencies, settings);
+    synchronized (entries) {
+      return entries.get(key);
+    }
+  }
+
+  void put(PklModuleDependencies dependencies, PklSettings settings, PModule module) {
+    var key = key(dependencies, settings);
+    synchronized (entries) {
+      entries.put(key, module);
+      evict();
+    }
+  }
+
+  int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  void clear() {
+    synchronized (entries) {
+      entries.clear();
+    }
+  }
+
+  private void setMaxEntries(int maxEntries) {
+    synchronized (entries) {
+      this.maxEntries = maxEntries;
+      evict();
+    }
+  }
+
+  private void evict() {
+    var iterator = entries.values().iterator();
+    while (entries.size() > maxEntries) {
+      iterator.next();
+      iterator.remove();
+    }
+  }
+
+  private static String key(PklModuleDependencies dependencies, PklSettings settings) {
+    var digest = PklModuleDependencies.newDigest();
+    digest.update(
+        ("pkl-spring-module-cache:" + Release.current().version() + '\n')
+            .getBytes(StandardCharsets.UTF_8));
+    PklEvaluators.updateDigest(digest, settings);
+    dependencies.update(digest, false);
+    return HexFormat.of().formatHex(digest.digest());
+  }
+}
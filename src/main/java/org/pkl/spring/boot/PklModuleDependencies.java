@@ -0,0 +1,236 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.pkl.core.EvaluatorBuilder;
+import org.springframework.lang.Nullable;
+
+/**
+ * The modules and resources that a Pkl module transitively depends on, together with their
+ * contents.
+ *
+ * <p>Dependencies are found with {@link PklModuleScanner}. Local modules and resources ({@code
+ * file:}, {@code jar:}, and {@code modulepath:} URIs) are read and fingerprinted, as are the
+ * environment variables and external properties read with {@code env:} and {@code prop:} URIs.
+ * Standard library modules are identified by the Pkl version, and package modules by their
+ * (immutable) URI. Dependencies on any other kind of URI, such as {@code https:}, cannot be
+ * fingerprinted.
+ */
+final class PklModuleDependencies {
+  private static final byte[] MISSING = {0};
+
+  private final Map<URI, byte[]> fingerprints;
+
+  private PklModuleDependencies(Map<URI, byte[]> fingerprints) {
+    this.fingerprints = fingerprints;
+  }
+
+  /**
+   * Returns why the given module must be evaluated at runtime, or {@code null} if the result of
+   * evaluating it at build time can be packaged with the application. Such a result would contain
+   * the values of environment variables and external properties at build time, which often are
+   * secrets or differ at runtime.
+   */
+  static @Nullable String getRuntimeReason(URI moduleUri, String moduleText) {
+    // values of environment variables and external properties are not needed to find them
+    var dependencies = collect(moduleUri, moduleText, Map.of(), Map.of());
+    if (dependencies == null) return "its dependencies cannot be determined statically";
+    var uri = dependencies.getEnvironmentUri();
+    return uri != null
+        ? "it reads `" + uri + "`, whose value at build time must not be used"
+        : null;
+  }
+
+  /**
+   * Collects the dependencies of the module with the given URI and source text, or returns {@code
+   * null} if they cannot be determined or fingerprinted.
+   */
+  static @Nullable PklModuleDependencies collect(
+      URI moduleUri,
+      String moduleText,
+      Map<String, String> environmentVariables,
+      Map<String, String> externalProperties) {
+    var fingerprints = new LinkedHashMap<URI, byte[]>();
+    fingerprints.put(moduleUri, sha256(moduleText.getBytes(StandardCharsets.UTF_8)));
+    var pending = new ArrayDeque<Map.Entry<URI, String>>();
+    pending.add(Map.entry(moduleUri, moduleText));
+    while (!pending.isEmpty()) {
+      var module = pending.poll();
+      var dependencies = PklModuleScanner.scan(module.getValue());
+      if (dependencies == null) return null;
+      for (var dependency : dependencies) {
+        var uri = resolve(module.getKey(), dependency.uri());
+        if (uri == null) return null;
+        if (fingerprints.containsKey(uri)) continue;
+        var scheme = uri.getScheme();
+        switch (scheme) {
+          case "pkl", "package", "projectpackage" -> fingerprints.put(uri, MISSING);
+          case "env" ->
+              fingerprints.put(
+                  uri, fingerprint(environmentVariables.get(uri.getSchemeSpecificPart())));
+          case "prop" ->
+              fingerprints.put(
+                  uri, fingerprint(externalProperties.get(uri.getSchemeSpecificPart())));
+          case "file", "jar", "modulepath" -> {
+            byte[] bytes;
+            try {
+              bytes = read(uri);
+            } catch (IOException e) {
+              return null;
+            }
+            fingerprints.put(uri, bytes == null ? MISSING : sha256(bytes));
+            if (bytes != null && dependency.kind() == PklModuleScanner.DependencyKind.MODULE) {
+              pending.add(Map.entry(uri, new String(bytes, StandardCharsets.UTF_8)));
+            }
+          }
+          default -> {
+            return null;
+          }
+        }
+      }
+    }
+    return new PklModuleDependencies(fingerprints);
+  }
+
+  /** Returns the URIs of the module and its dependencies. */
+  Set<URI> getUris() {
+    return Collections.unmodifiableSet(fingerprints.keySet());
+  }
+
+  /**
+   * Returns the URI of an environment variable or external property that the module reads, such as
+   * {@code env:HOME}, or {@code null} if it reads none. The values of these often are secrets.
+   */
+  @Nullable
+  URI getEnvironmentUri() {
+    for (var uri : fingerprints.keySet()) {
+      var scheme = uri.getScheme();
+      if (scheme.equals("env") || scheme.equals("prop")) return uri;
+    }
+    return null;
+  }
+
+  /**
+   * Feeds the URIs and fingerprints of the module and its dependencies to {@code digest}.
+   *
+   * <p>If {@code locationIndependent} is {@code true}, the URIs of dependencies located in the
+   * module's directory or below are fed relative to that directory. This makes the digest stable
+   * across copies of a directory tree, such as a build output directory and the jar built from it.
+   */
+  void update(MessageDigest digest, boolean locationIndependent) {
+    var moduleUri = fingerprints.keySet().iterator().next().toString();
+    var baseUri = moduleUri.substring(0, moduleUri.lastIndexOf('/') + 1);
+    fingerprints.forEach(
+        (uri, fingerprint) -> {
+          var uriString = uri.toString();
+          if (locationIndependent && !baseUri.isEmpty() && uriString.startsWith(baseUri)) {
+            uriString = uriString.substring(baseUri.length());
+          }
+          digest.update(uriString.getBytes(StandardCharsets.UTF_8));
+          digest.update((byte) 0);
+          digest.update(fingerprint);
+        });
+  }
+
+  static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static byte[] sha256(byte[] bytes) {
+    return newDigest().digest(bytes);
+  }
+
+  private static byte[] fingerprint(@Nullable String value) {
+    return value == null ? MISSING : sha256(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static @Nullable URI resolve(URI base, String reference) {
+    URI uri;
+    try {
+      uri = new URI(reference);
+    } catch (URISyntaxException e) {
+      return null;
+    }
+    if (uri.isAbsolute()) return uri;
+    // project dependency notation and triple-dot imports require resolution by Pkl
+    if (reference.startsWith("@") || reference.startsWith("...")) return null;
+    if (!base.isOpaque()) return base.resolve(uri);
+    // resolve against the entry path of a URI such as `jar:file:/app.jar!/application.pkl`
+    var baseString = base.toString();
+    var separator = baseString.lastIndexOf("!/");
+    if (separator == -1) return null;
+    var entry = URI.create(baseString.substring(separator + 1)).resolve(uri);
+    return URI.create(baseString.substring(0, separator + 1) + entry);
+  }
+
+  // returns `null` if the module or resource does not exist
+  @Nullable
+  private static byte[] read(URI uri) throws IOException {
+    switch (uri.getScheme()) {
+      case "file" -> {
+        try {
+          return Files.readAllBytes(Path.of(uri));
+        } catch (NoSuchFileException e) {
+          return null;
+        }
+      }
+      case "modulepath" -> {
+        var path = uri.getPath();
+        if (path == null) return null;
+        var url = EvaluatorBuilder.class.getClassLoader().getResource(path.replaceFirst("^/+", ""));
+        if (url == null) return null;
+        try (var stream = url.openStream()) {
+          return stream.readAllBytes();
+        }
+      }
+      case "jar" -> {
+        if (PklJarModuleKeyFactory.isJarUri(uri)) return PklJarModuleKeyFactory.read(uri);
+        try (InputStream stream = uri.toURL().openStream()) {
+          return stream.readAllBytes();
+        } catch (NoSuchFileException | FileNotFoundException e) {
+          return null;
+        }
+      }
+      default -> {
+        try (InputStream stream = uri.toURL().openStream()) {
+          return stream.readAllBytes();
+        } catch (NoSuchFileException | FileNotFoundException e) {
+          return null;
+        }
+      }
+    }
+  }
+}
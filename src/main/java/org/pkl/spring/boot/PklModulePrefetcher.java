@@ -0,0 +1,186 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+/**
+ * Evaluates the Pkl config files that Spring Boot is expected to load concurrently, ahead of Spring
+ * Boot asking for them.
+ *
+ * <p>Spring Boot loads config files one by one, in order of precedence. Started before config files
+ * are loaded, this class evaluates all Pkl config files in the configured search locations for the
+ * configured config names and active profiles on a bounded thread pool. When {@link
+ * PklPropertySourceLoader} is asked to load one of these config files, it {@linkplain #take takes}
+ * the evaluated module instead of evaluating the config file again. Hence the order of property
+ * sources is not affected. Each application startup has its own prefetcher (see {@link
+ * PklStartup}).
+ *
+ * <p>Config files that only become known while loading config files, such as config files for
+ * profiles activated by a config file, are evaluated when Spring Boot asks for them.
+ */
+final class PklModulePrefetcher {
+  private static final String DEFAULT_SEARCH_LOCATIONS =
+      "optional:classpath:/,optional:classpath:/config/,optional:file:./,optional:file:./config/";
+
+  private final ExecutorService executor;
+  private final Map<URI, Future<PklPropertySourceLoader.LoadedModule>> modules =
+      new LinkedHashMap<>();
+
+  private PklModulePrefetcher(int parallelism) {
+    var threadCount = new AtomicInteger();
+    executor =
+        Executors.newFixedThreadPool(
+            parallelism,
+            (runnable) -> {
+              var thread = new Thread(runnable, "pkl-prefetch-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /** Starts evaluating {@code configFiles} with {@code loader}. */
+  static PklModulePrefetcher start(
+      List<Resource> configFiles, ModuleLoader loader, int parallelism) {
+    var prefetcher = new PklModulePrefetcher(parallelism);
+    for (var configFile : configFiles) {
+      URI key;
+      try {
+        key = key(configFile);
+      } catch (IOException e) {
+        continue;
+      }
+      prefetcher.modules.computeIfAbsent(
+          key,
+          (uri) ->
+              prefetcher.executor.submit(
+                  () -> {
+                    try {
+                      return loader.load(configFile);
+                    } catch (IOException e) {
+                      throw new UncheckedIOException(e);
+                    }
+                  }));
+    }
+    prefetcher.executor.shutdown();
+    return prefetcher;
+  }
+
+  /**
+   * Returns the evaluated module for {@code configFile}, waiting for its evaluation to complete, or
+   * {@code null} if it was not prefetched. Each module can be taken once.
+   */
+  @Nullable
+  PklPropertySourceLoader.LoadedModule take(Resource configFile) throws IOException {
+    Future<PklPropertySourceLoader.LoadedModule> future;
+    synchronized (modules) {
+      future = modules.remove(key(configFile));
+    }
+    if (future == null) return null;
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while evaluating " + configFile + '.', e);
+    } catch (CancellationException e) {
+      return null;
+    } catch (ExecutionException e) {
+      var cause = e.getCause();
+      if (cause instanceof UncheckedIOException ioException) throw ioException.getCause();
+      if (cause instanceof RuntimeException runtimeException) throw runtimeException;
+      if (cause instanceof Error error) throw error;
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  /**
+   * Returns the Pkl config files that Spring Boot will load, as far as can be determined before
+   * config files are loaded.
+   */
+  static List<Resource> findConfigFiles(Environment environment, ResourceLoader resourceLoader) {
+    var locations = environment.getProperty("spring.config.location", DEFAULT_SEARCH_LOCATIONS);
+    var additionalLocations = environment.getProperty("spring.config.additional-location", "");
+    var names = environment.getProperty("spring.config.name", String[].class);
+    if (names == null || names.length == 0) names = new String[] {"application"};
+    var profiles = environment.getActiveProfiles();
+    if (profiles.length == 0) profiles = environment.getDefaultProfiles();
+
+    var candidates = new ArrayList<String>();
+    for (var location :
+        StringUtils.commaDelimitedListToStringArray(locations + ',' + additionalLocations)) {
+      location = location.trim();
+      if (location.startsWith("optional:")) location = location.substring("optional:".length());
+      if (location.isEmpty() || location.contains("*")) continue;
+      if (!location.endsWith("/")) {
+        if (location.endsWith(".pkl") || location.endsWith(".pcf")) candidates.add(location);
+        continue;
+      }
+      for (var extension : new String[] {".pkl", ".pcf"}) {
+        for (var name : names) {
+          candidates.add(location + name + extension);
+          for (var profile : profiles) {
+            candidates.add(location + name + '-' + profile + extension);
+          }
+        }
+      }
+    }
+
+    var result = new ArrayList<Resource>();
+    for (var candidate : candidates) {
+      var resource = resourceLoader.getResource(candidate);
+      if (resource.exists()) result.add(resource);
+    }
+    return result;
+  }
+
+  /** Cancels evaluations that have not been taken yet. */
+  void cancel() {
+    synchronized (modules) {
+      modules.values().forEach((future) -> future.cancel(true));
+      modules.clear();
+    }
+    executor.shutdownNow();
+  }
+
+  private static URI key(Resource resource) throws IOException {
+    return resource.isFile()
+        ? resource.getFile().toPath().toAbsolutePath().normalize().toUri()
+        : resource.getURI();
+  }
+
+  /** Loads the module for a config file. */
+  @FunctionalInterface
+  interface ModuleLoader {
+    PklPropertySourceLoader.LoadedModule load(Resource configFile) throws IOException;
+  }
+}
@@ -0,0 +1,196 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.lang.Nullable;
+
+/**
+ * Finds the modules and resources that a Pkl module depends on by scanning its source text.
+ *
+ * <p>Dependencies are found without evaluating the module, and hence only if they are stated as
+ * string constants: {@code amends}, {@code extends}, and {@code import} clauses and expressions,
+ * and {@code read} expressions whose argument is a string literal without interpolation. If a
+ * module uses a glob import, a glob read, or a read whose argument is computed, its dependencies
+ * cannot be determined statically, and {@link #scan} returns {@code null}.
+ */
+final class PklModuleScanner {
+  private PklModuleScanner() {}
+
+  /**
+   * Returns the dependencies of the module with the given source text, in order of appearance, or
+   * {@code null} if they cannot be determined statically.
+   */
+  static @Nullable List<Dependency> scan(String text) {
+    var tokens = tokenize(text);
+    if (tokens == null) return null;
+    var result = new ArrayList<Dependency>();
+    for (var i = 0; i < tokens.size(); i++) {
+      var token = tokens.get(i);
+      if (token.type != TokenType.IDENTIFIER) continue;
+      switch (token.text) {
+        case "import" -> {
+          if (is(tokens, i + 1, "*")) return null;
+          var uri = stringArgument(tokens, i + 1, false);
+          if (uri == null) return null;
+          result.add(new Dependency(DependencyKind.MODULE, uri));
+        }
+        case "amends", "extends" -> {
+          // `extends` also occurs in class declarations, followed by a class name
+          var uri = stringArgument(tokens, i + 1, false);
+          if (uri != null) result.add(new Dependency(DependencyKind.MODULE, uri));
+        }
+        case "read" -> {
+          var next = i + 1;
+          if (is(tokens, next, "*")) return null;
+          if (is(tokens, next, "?")) next++;
+          var uri = stringArgument(tokens, next, true);
+          if (uri == null) return null;
+          result.add(new Dependency(DependencyKind.RESOURCE, uri));
+        }
+        default -> {}
+      }
+    }
+    return result;
+  }
+
+  private static @Nullable String stringArgument(
+      List<Token> tokens, int index, boolean requireParens) {
+    var parens = is(tokens, index, "(");
+    if (parens) {
+      index++;
+    } else if (requireParens) {
+      return null;
+    }
+    if (index >= tokens.size()) return null;
+    var token = tokens.get(index);
+    if (token.type != TokenType.STRING || token.interpolated) return null;
+    return !parens || is(tokens, index + 1, ")") ? token.text : null;
+  }
+
+  private static boolean is(List<Token> tokens, int index, String text) {
+    if (index >= tokens.size()) return false;
+    var token = tokens.get(index);
+    return token.type == TokenType.PUNCTUATION && token.text.equals(text);
+  }
+
+  // returns identifiers, string literals, and punctuation, skipping comments and whitespace
+  private static @Nullable List<Token> tokenize(String text) {
+    var result = new ArrayList<Token>();
+    var length = text.length();
+    var pos = 0;
+    while (pos < length) {
+      var ch = text.charAt(pos);
+      if (Character.isWhitespace(ch)) {
+        pos++;
+      } else if (text.startsWith("//", pos)) {
+        var end = text.indexOf('\n', pos);
+        pos = end == -1 ? length : end + 1;
+      } else if (text.startsWith("/*", pos)) {
+        var end = text.indexOf("*/", pos + 2);
+        if (end == -1) return null;
+        pos = end + 2;
+      } else if (ch == '`') {
+        // quoted identifier; never a keyword
+        var end = text.indexOf('`', pos + 1);
+        if (end == -1) return null;
+        result.add(new Token(TokenType.QUOTED_IDENTIFIER, text.substring(pos + 1, end), false));
+        pos = end + 1;
+      } else if (ch == '"' || ch == '#') {
+        var end = readString(text, pos, result);
+        if (end == -1) return null;
+        pos = end;
+      } else if (Character.isJavaIdentifierStart(ch)) {
+        var end = pos + 1;
+        while (end < length && Character.isJavaIdentifierPart(text.charAt(end))) end++;
+        result.add(new Token(TokenType.IDENTIFIER, text.substring(pos, end), false));
+        pos = end;
+      } else {
+        result.add(new Token(TokenType.PUNCTUATION, String.valueOf(ch), false));
+        pos++;
+      }
+    }
+    return result;
+  }
+
+  // reads a string literal such as `"abc"`, `#"abc"#`, or `"""abc"""`; returns the end position
+  private static int readString(String text, int start, List<Token> result) {
+    var pos = start;
+    while (pos < text.length() && text.charAt(pos) == '#') pos++;
+    if (pos == text.length() || text.charAt(pos) != '"') {
+      if (pos == start + 1) {
+        result.add(new Token(TokenType.PUNCTUATION, "#", false));
+        return pos;
+      }
+      return -1;
+    }
+    var pounds = "#".repeat(pos - start);
+    var multiLine = text.startsWith("\"\"\"", pos);
+    var quotes = multiLine ? "\"\"\"" : "\"";
+    var closing = quotes + pounds;
+    var escape = "\\" + pounds;
+    pos += quotes.length();
+    var contents = new StringBuilder();
+    var interpolated = false;
+    while (true) {
+      if (pos >= text.length()) return -1;
+      if (text.startsWith(closing, pos)) {
+        result.add(new Token(TokenType.STRING, contents.toString(), interpolated));
+        return pos + closing.length();
+      }
+      if (text.startsWith(escape, pos)) {
+        pos += escape.length();
+        if (pos >= text.length()) return -1;
+        var escaped = text.charAt(pos);
+        switch (escaped) {
+          case '(' -> interpolated = true;
+          case 'n' -> contents.append('\n');
+          case 'r' -> contents.append('\r');
+          case 't' -> contents.append('\t');
+          // unicode escapes are rare in URIs; treat them like interpolation
+          case 'u' -> interpolated = true;
+          default -> contents.append(escaped);
+        }
+        pos++;
+        continue;
+      }
+      var ch = text.charAt(pos);
+      if (!multiLine && ch == '\n') return -1;
+      contents.append(ch);
+      pos++;
+    }
+  }
+
+  enum DependencyKind {
+    /** A module imported with an {@code amends}, {@code extends}, or {@code import} clause. */
+    MODULE,
+    /** A resource read with a {@code read} expression. */
+    RESOURCE
+  }
+
+  /** A module or resource that a module depends on, identified by a possibly relative URI. */
+  record Dependency(DependencyKind kind, String uri) {}
+
+  private enum TokenType {
+    IDENTIFIER,
+    QUOTED_IDENTIFIER,
+    STRING,
+    PUNCTUATION
+  }
+
+  private record Token(TokenType type, String text, boolean interpolated) {}
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.Map;
+import org.pkl.core.PModule;
+import org.pkl.core.Release;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+/**
+ * A Pkl config file evaluated at build time, stored next to the config file with suffix {@value
+ * #SUFFIX}.
+ *
+ * <p>A snapshot records the format version, the Pkl version, and a fingerprint of the config file,
+ * everything it depends on (see {@link PklModuleDependencies}), and the evaluator settings it was
+ * evaluated with (see {@link PklEvaluators#updateDigest}). Config files that read environment
+ * variables or external properties have no snapshot, because it would contain their values at build
+ * time. Before a snapshot is used, the fingerprint is recomputed, which reads the config file and
+ * its dependencies but does not evaluate them. A snapshot whose versions or fingerprint do not
+ * match is stale, and the config file is evaluated instead.
+ *
+ * <p>Snapshots are created with {@link PklSnapshotGenerator}.
+ */
+final class PklModuleSnapshot {
+  static final String SUFFIX = ".snapshot";
+
+  private static final String MAGIC = "pkl-spring-snapshot";
+  // bump when the snapshot format or fingerprint derivation changes
+  private static final int FORMAT_VERSION = 2;
+
+  private PklModuleSnapshot() {}
+
+  /** Returns the snapshot of the given config file, if one exists. */
+  static @Nullable Resource find(Resource configFile) {
+    var filename = configFile.getFilename();
+    if (filename == null) return null;
+    try {
+      var snapshot = configFile.createRelative(filename + SUFFIX);
+      return snapshot.exists() ? snapshot : null;
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Writes a snapshot of {@code module}, the result of evaluating the module with the given URI and
+   * text with {@code settings}. Returns {@code false} if no snapshot can be written because the
+   * module's dependencies cannot be determined statically.
+   */
+  static boolean write(
+      OutputStream output, URI moduleUri, String moduleText, PklSettings settings, PModule module)
+      throws IOException {
+    var fingerprint = fingerprint(moduleUri, moduleText, settings);
+    if (fingerprint == null) return false;
+    var dataOutput = new DataOutputStream(output);
+    dataOutput.writeUTF(MAGIC);
+    dataOutput.writeInt(FORMAT_VERSION);
+    dataOutput.writeUTF(Release.current().version().toString());
+    dataOutput.writeUTF(fingerprint);
+    dataOutput.flush();
+    PklEvaluationCache.writeModule(output, module);
+    return true;
+  }
+
+  /**
+   * Reads a snapshot of the module with the given URI and text, returning {@code null} if the
+   * snapshot is stale or was evaluated with settings other than {@code settings}.
+   */
+  static @Nullable PModule read(
+      InputStream input, URI moduleUri, String moduleText, PklSettings settings)
+      throws IOException {
+    var dataInput = new DataInputStream(input);
+    if (!MAGIC.equals(dataInput.readUTF())
+        || dataInput.readInt() != FORMAT_VERSION
+        || !Release.current().version().toString().equals(dataInput.readUTF())) {
+      return null;
+    }
+    var fingerprint = dataInput.readUTF();
+    if (!fingerprint.equals(fingerprint(moduleUri, moduleText, settings))) {
+      return null;
+    }
+    return PklEvaluationCache.readModule(input);
+  }
+
+  private static @Nullable String fingerprint(
+      URI moduleUri, String moduleText, PklSettings settings) {
+    // snapshots of config files reading environment variables or external properties are not
+    // written, hence their values are not needed
+    var dependencies = PklModuleDependencies.collect(moduleUri, moduleText, Map.of(), Map.of());
+    if (dependencies == null) return null;
+    var digest = PklModuleDependencies.newDigest();
+    digest.update(MAGIC.getBytes(StandardCharsets.UTF_8));
+    dependencies.update(digest, true);
+    PklEvaluators.updateDigest(digest, settings);
+    return HexFormat.of().formatHex(digest.digest());
+  }
+}
@@ -0,0 +1,688 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.pkl.core.Composite;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName.Form;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyState;
+import org.springframework.lang.Nullable;
+
+/**
+ * An immutable map from flattened property names to the leaf values of an evaluated Pkl module.
+ *
+ * <p>Has the same entries, in the same order, as the map created by {@link
+ * PklPropertySourceLoader#flatten}, but takes considerably less memory for large configs:
+ *
+ * <ul>
+ *   <li>Property names are not stored as strings. Instead, each name is a path in a tree whose
+ *       nodes store one segment each, so that common prefixes are stored once.
+ *   <li>Named segments are interned, so that the property names of listing elements and other
+ *       repeated objects are stored once.
+ *   <li>Nodes are stored in parallel arrays, and names are looked up in an open-addressing table of
+ *       node indices instead of map entries.
+ * </ul>
+ *
+ * <p>Lists of at least {@code minViewSize} scalar values, such as large allowlists, are not copied.
+ * Instead, a single node refers to the list, and its elements are looked up by index. This saves
+ * most of the memory otherwise taken by such lists, and all arrays are allocated at their final
+ * size, so that flattening takes little more memory than the result.
+ *
+ * <p>Looking up a name hashes it (using the hash code cached by {@link String}) and compares it
+ * against the path of a matching node, without allocating. Iterating over entries creates property
+ * names on demand.
+ *
+ * <p>{@link ConfigurationPropertyName}s are looked up one element at a time in an index of child
+ * nodes, which is created on first use. This makes {@link #get(ConfigurationPropertyName)} and
+ * {@link #containsDescendantOf} take time proportional to the number of name elements, not the
+ * number of properties.
+ */
+final class PklPropertyMap extends AbstractMap<String, Object> {
+  private static final int NO_PARENT = -1;
+  private static final int NAMED = -1;
+
+  private static final int NO_VIEWS = Integer.MAX_VALUE;
+
+  // per node
+  private final int[] parents;
+  // segment of a named node, or null for an element node
+  private final @Nullable String[] names;
+  // index of an element node, or NAMED
+  private final int[] indices;
+  // value of a leaf node, a ListView for a view node, or null for an inner node
+  private final @Nullable Object[] values;
+
+  // per leaf or view node, in insertion order
+  private final int[] leaves;
+  private final int[] leafHashes;
+
+  // leaf number + 1, or 0 for an empty slot; leaves and view nodes are looked up separately
+  private final int[] table;
+  // a single empty slot if there are no views
+  private final int[] viewTable;
+
+  // number of properties, counting each element of a view
+  private final int size;
+
+  @Nullable private volatile ChildIndex childIndex;
+
+  private PklPropertyMap(Builder builder) {
+    parents = builder.parents;
+    names = builder.names;
+    indices = builder.indices;
+    values = builder.values;
+    var leafCount = builder.leafCount;
+    var keptLeaves = new int[leafCount];
+    var keptHashes = new int[leafCount];
+    var keptCount = 0;
+    var propertyCount = 0;
+    table = new int[tableSize(leafCount - builder.viewCount)];
+    viewTable = new int[builder.viewCount == 0 ? 1 : tableSize(builder.viewCount)];
+    nextLeaf:
+    for (var leaf = 0; leaf < leafCount; leaf++) {
+      var node = builder.leaves[leaf];
+      var hash = builder.hashes[node];
+      var view = values[node] instanceof ListView listView ? listView : null;
+      var slots = view != null ? viewTable : table;
+      var mask = slots.length - 1;
+      var slot = spread(hash) & mask;
+      for (; slots[slot] != 0; slot = (slot + 1) & mask) {
+        var existing = slots[slot] - 1;
+        if (keptHashes[existing] == hash && matches(keptLeaves[existing], nameOf(node))) {
+          // same as a map: the first position wins, the last value wins
+          propertyCount +=
+              propertyCount(values[node]) - propertyCount(values[keptLeaves[existing]]);
+          values[keptLeaves[existing]] = values[node];
+          values[node] = null;
+          continue nextLeaf;
+        }
+      }
+      keptLeaves[keptCount] = node;
+      keptHashes[keptCount] = hash;
+      slots[slot] = ++keptCount;
+      propertyCount += propertyCount(values[node]);
+    }
+    leaves = keptCount == leafCount ? keptLeaves : Arrays.copyOf(keptLeaves, keptCount);
+    leafHashes = keptCount == leafCount ? keptHashes : Arrays.copyOf(keptHashes, keptCount);
+    size = propertyCount;
+  }
+
+  /** Flattens the properties of an evaluated Pkl module. */
+  static PklPropertyMap of(Map<String, Object> moduleProperties) {
+    return of(moduleProperties, NO_VIEWS);
+  }
+
+  /**
+   * Flattens the properties of an evaluated Pkl module, referring to lists of at least {@code
+   * minViewSize} scalar values instead of copying them.
+   */
+  static PklPropertyMap of(Map<String, Object> moduleProperties, int minViewSize) {
+    var builder = new Builder(minViewSize);
+    // count first, so that arrays are allocated once and at their final size
+    moduleProperties.forEach((name, value) -> builder.count(value));
+    builder.allocate();
+    moduleProperties.forEach((name, value) -> builder.add(NO_PARENT, name, NAMED, value));
+    return new PklPropertyMap(builder);
+  }
+
+  @Override
+  public @Nullable Object get(Object key) {
+    if (!(key instanceof String name)) return null;
+    var hash = name.hashCode();
+    var mask = table.length - 1;
+    for (var slot = spread(hash) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+      var leaf = table[slot] - 1;
+      if (leafHashes[leaf] == hash && matches(leaves[leaf], name)) {
+        return values[leaves[leaf]];
+      }
+    }
+    return viewTable.length > 1 ? getElement(name) : null;
+  }
+
+  // looks up a name such as `a.b[42]` among the elements of views
+  private @Nullable Object getElement(String name) {
+    var end = name.length() - 1;
+    if (end < 0 || name.charAt(end) != ']') return null;
+    var start = name.lastIndexOf('[', end);
+    // same index format as created by `flatten`
+    if (start <= 0 || start + 1 == end || end - start - 1 > 9) return null;
+    if (name.charAt(start + 1) == '0' && end - start > 2) return null;
+    var index = 0;
+    for (var i = start + 1; i < end; i++) {
+      var digit = name.charAt(i) - '0';
+      if (digit < 0 || digit > 9) return null;
+      index = index * 10 + digit;
+    }
+    var hash = 0;
+    for (var i = 0; i < start; i++) hash = 31 * hash + name.charAt(i);
+    var mask = viewTable.length - 1;
+    for (var slot = spread(hash) & mask; viewTable[slot] != 0; slot = (slot + 1) & mask) {
+      var leaf = viewTable[slot] - 1;
+      if (leafHashes[leaf] == hash && matches(leaves[leaf], name, start)) {
+        var elements = ((ListView) values[leaves[leaf]]).elements();
+        return index < elements.size() ? elements.get(index) : null;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return get(key) != null;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public Set<Entry<String, Object>> entrySet() {
+    return new AbstractSet<>() {
+      @Override
+      public Iterator<Entry<String, Object>> iterator() {
+        return new Iterator<>() {
+          private int leaf;
+          // position within the current view, and the view's property name
+          private int element;
+          @Nullable private String viewName;
+
+          @Override
+          public boolean hasNext() {
+            return leaf < leaves.length;
+          }
+
+          @Override
+          public Entry<String, Object> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            var node = leaves[leaf];
+            if (!(values[node] instanceof ListView view)) {
+              leaf++;
+              return new SimpleImmutableEntry<>(nameOf(node), values[node]);
+            }
+            if (viewName == null) viewName = nameOf(node);
+            var index = element++;
+            var entry =
+                new SimpleImmutableEntry<>(
+                    viewName + '[' + index + ']', view.elements().get(index));
+            if (element == view.elements().size()) {
+              leaf++;
+              element = 0;
+              viewName = null;
+            }
+            return entry;
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  /**
+   * Returns the value of the property with the given name, or {@code null} if there is none.
+   *
+   * <p>Name elements are compared in uniform form, as {@link ConfigurationPropertyName} does.
+   */
+  @Nullable
+  Object get(ConfigurationPropertyName name) {
+    if (name.isEmpty()) return null;
+    return getChildIndex()
+        .walk(
+            NO_PARENT,
+            name,
+            0,
+            (node, element) -> {
+              var value = values[node];
+              if (value instanceof ListView view) {
+                return element < 0 ? null : view.elements().get(element);
+              }
+              return value;
+            });
+  }
+
+  /**
+   * Tells whether this map has properties whose names start with, but differ from, {@code name}.
+   */
+  ConfigurationPropertyState containsDescendantOf(ConfigurationPropertyName name) {
+    if (name.isEmpty()) {
+      return size > 0 ? ConfigurationPropertyState.PRESENT : ConfigurationPropertyState.ABSENT;
+    }
+    var index = getChildIndex();
+    var result =
+        index.walk(
+            NO_PARENT,
+            name,
+            0,
+            (node, element) ->
+                element < 0 && (index.isInner(node) || values[node] instanceof ListView)
+                    ? ConfigurationPropertyState.PRESENT
+                    : null);
+    if (result != null) return result;
+    // a segment such as `a.b` is a descendant of `a`, but is only found as a whole
+    return index.hasCompoundSegments()
+        ? ConfigurationPropertyState.UNKNOWN
+        : ConfigurationPropertyState.ABSENT;
+  }
+
+  /** Returns the property names of this map, in insertion order. */
+  String[] getNames() {
+    var result = new String[size];
+    var builder = new StringBuilder();
+    var count = 0;
+    for (var node : leaves) {
+      builder.setLength(0);
+      appendName(node, builder);
+      if (values[node] instanceof ListView view) {
+        var length = builder.length();
+        for (var index = 0; index < view.elements().size(); index++) {
+          builder.setLength(length);
+          result[count++] = builder.append('[').append(index).append(']').toString();
+        }
+      } else {
+        result[count++] = builder.toString();
+      }
+    }
+    return result;
+  }
+
+  /** Estimates the heap taken by this map's arrays, excluding names and values. */
+  long estimateShallowSize() {
+    // object with 9 references and an int, 8 array headers, 4 bytes per array element
+    var result =
+        48
+            + 8 * 16L
+            + 4L * (4L * parents.length + 2L * leaves.length + table.length + viewTable.length);
+    var index = childIndex;
+    if (index != null) result += index.estimateShallowSize();
+    return result;
+  }
+
+  /**
+   * Passes the distinct name segments and the values of this map, including the lists referred to
+   * by views, to {@code consumer}.
+   */
+  void forEachRetained(Consumer<Object> consumer) {
+    for (var node = 0; node < parents.length; node++) {
+      var name = names[node];
+      if (name != null) consumer.accept(name);
+      var value = values[node];
+      if (value != null) consumer.accept(value instanceof ListView view ? view.elements() : value);
+    }
+  }
+
+  private static int propertyCount(@Nullable Object value) {
+    return value instanceof ListView view ? view.elements().size() : 1;
+  }
+
+  private String nameOf(int node) {
+    var builder = new StringBuilder();
+    appendName(node, builder);
+    return builder.toString();
+  }
+
+  private void appendName(int node, StringBuilder builder) {
+    var parent = parents[node];
+    if (parent != NO_PARENT) appendName(parent, builder);
+    var name = names[node];
+    if (name == null) {
+      builder.append('[').append(indices[node]).append(']');
+    } else {
+      if (parent != NO_PARENT) builder.append('.');
+      builder.append(name);
+    }
+  }
+
+  private boolean matches(int node, String name) {
+    return matches(node, name, name.length());
+  }
+
+  // compares the path ending in `node` with the first `end` characters of `name`, from the end
+  private boolean matches(int node, String name, int end) {
+    for (; node != NO_PARENT; node = parents[node]) {
+      var segment = names[node];
+      if (segment == null) {
+        if (end == 0 || name.charAt(--end) != ']') return false;
+        var index = indices[node];
+        do {
+          if (end == 0 || name.charAt(--end) != '0' + index % 10) return false;
+          index /= 10;
+        } while (index > 0);
+        if (end == 0 || name.charAt(--end) != '[') return false;
+      } else {
+        var start = end - segment.length();
+        if (start < 0 || !name.startsWith(segment, start)) return false;
+        end = start;
+        if (parents[node] != NO_PARENT && (end == 0 || name.charAt(--end) != '.')) return false;
+      }
+    }
+    return end == 0;
+  }
+
+  private ChildIndex getChildIndex() {
+    var result = childIndex;
+    if (result == null) {
+      result = new ChildIndex();
+      childIndex = result;
+    }
+    return result;
+  }
+
+  // whether `node`'s segment, in uniform form, equals `uniform`
+  private boolean segmentMatches(int node, String uniform) {
+    var segment = names[node];
+    if (segment == null) return parseIndex(uniform) == indices[node];
+    var pos = 0;
+    for (var i = 0; i < segment.length(); i++) {
+      var ch = toUniformChar(segment.charAt(i));
+      if (ch == 0) continue;
+      if (pos == uniform.length() || uniform.charAt(pos++) != ch) return false;
+    }
+    return pos == uniform.length();
+  }
+
+  // same as `uniformSegment(node).hashCode()`
+  private int uniformHash(int node) {
+    var segment = names[node];
+    if (segment == null) return Integer.toString(indices[node]).hashCode();
+    var hash = 0;
+    for (var i = 0; i < segment.length(); i++) {
+      var ch = toUniformChar(segment.charAt(i));
+      if (ch != 0) hash = 31 * hash + ch;
+    }
+    return hash;
+  }
+
+  // see PklPropertyTree.toUniformForm; returns 0 for characters that are removed
+  private static char toUniformChar(char ch) {
+    var lower = Character.toLowerCase(ch);
+    return lower >= 'a' && lower <= 'z' || lower >= '0' && lower <= '9' || lower == '.' ? lower : 0;
+  }
+
+  private static int parseIndex(String element) {
+    if (element.isEmpty() || element.length() > 9) return -1;
+    if (element.charAt(0) == '0' && element.length() > 1) return -1;
+    var result = 0;
+    for (var i = 0; i < element.length(); i++) {
+      var digit = element.charAt(i) - '0';
+      if (digit < 0 || digit > 9) return -1;
+      result = result * 10 + digit;
+    }
+    return result;
+  }
+
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+
+  private static int tableSize(int leafCount) {
+    // load factor of at most 0.5
+    var result = 2;
+    while (result < leafCount * 2) result <<= 1;
+    return result;
+  }
+
+  /** The elements of a list that is referred to instead of being copied. */
+  private record ListView(List<?> elements) {}
+
+  private interface NodeFunction<T> {
+    /** Applies this function to {@code node}, or to an element of a view node if not negative. */
+    @Nullable
+    T apply(int node, int element);
+  }
+
+  /** Looks up child nodes by parent node and segment in uniform form. */
+  private final class ChildIndex {
+    // node + 1, or 0 for an empty slot
+    private final int[] table;
+    // per node, combines the parent node and the hash code of the uniform segment
+    private final int[] hashes;
+    private final BitSet inner;
+    private final boolean compoundSegments;
+
+    ChildIndex() {
+      var nodeCount = parents.length;
+      table = new int[tableSize(nodeCount)];
+      hashes = new int[nodeCount];
+      inner = new BitSet(nodeCount);
+      var mask = table.length - 1;
+      var compound = false;
+      for (var node = 0; node < nodeCount; node++) {
+        var parent = parents[node];
+        if (parent != NO_PARENT) inner.set(parent);
+        var segment = names[node];
+        if (segment != null && (segment.indexOf('.') >= 0 || segment.indexOf('[') >= 0)) {
+          compound = true;
+        }
+        var hash = 31 * parent + uniformHash(node);
+        hashes[node] = hash;
+        var slot = spread(hash) & mask;
+        while (table[slot] != 0) slot = (slot + 1) & mask;
+        table[slot] = node + 1;
+      }
+      compoundSegments = compound;
+    }
+
+    // mirrors PklPropertyTree.walk
+    <T> @Nullable T walk(
+        int parent, ConfigurationPropertyName name, int start, NodeFunction<T> atEnd) {
+      var elementCount = name.getNumberOfElements();
+      if (start == elementCount) {
+        return atEnd.apply(parent, -1);
+      }
+      if (parent != NO_PARENT && values[parent] instanceof ListView view) {
+        // view elements are scalar values
+        if (start + 1 != elementCount) return null;
+        var index = parseIndex(uniformElement(name, start));
+        if (index < 0 || index >= view.elements().size()) return null;
+        return atEnd.apply(parent, index);
+      }
+      // keys may themselves contain `.`, hence try successively longer candidates
+      String key = null;
+      var mask = table.length - 1;
+      for (var end = start; end < elementCount; end++) {
+        var element = uniformElement(name, end);
+        // keep elements apart so that `a.b` does not match segment `ab`
+        key = key == null ? element : key + '.' + element;
+        var hash = 31 * parent + key.hashCode();
+        // duplicate segments are found in insertion order
+        for (var slot = spread(hash) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+          var child = table[slot] - 1;
+          if (hashes[child] == hash && parents[child] == parent && segmentMatches(child, key)) {
+            var result = walk(child, name, end + 1, atEnd);
+            if (result != null) return result;
+          }
+        }
+      }
+      return null;
+    }
+
+    boolean isInner(int node) {
+      return inner.get(node);
+    }
+
+    boolean hasCompoundSegments() {
+      return compoundSegments;
+    }
+
+    long estimateShallowSize() {
+      // object with 3 references and a boolean, 2 array headers, 4 bytes per array element, bit set
+      return 24 + 2 * 16L + 4L * (table.length + hashes.length) + 40 + parents.length / 8;
+    }
+
+    private static String uniformElement(ConfigurationPropertyName name, int element) {
+      return PklPropertyTree.toUniformForm(name.getElement(element, Form.UNIFORM));
+    }
+  }
+
+  private static final class Builder {
+    private final Map<String, String> internedNames = new HashMap<>();
+    private final int minViewSize;
+    private int[] parents;
+    private String[] names;
+    private int[] indices;
+    private Object[] values;
+    // hash code of the node's property name
+    private int[] hashes;
+    private int nodeCount;
+    private int[] leaves;
+    private int leafCount;
+    private int viewCount;
+
+    Builder(int minViewSize) {
+      this.minViewSize = minViewSize;
+    }
+
+    // mirrors `add`
+    void count(Object value) {
+      nodeCount++;
+      if (value instanceof Composite composite) {
+        countChildren(composite.getProperties());
+      } else if (value instanceof Map<?, ?> map) {
+        countChildren(map);
+      } else if (value instanceof Collection<?> collection
+          && !collection.isEmpty()
+          && !isView(collection)) {
+        collection.forEach(this::count);
+      } else {
+        leafCount++;
+      }
+    }
+
+    private void countChildren(Map<?, ?> map) {
+      if (map.isEmpty()) {
+        leafCount++;
+      } else {
+        map.values().forEach(this::count);
+      }
+    }
+
+    void allocate() {
+      parents = new int[nodeCount];
+      names = new String[nodeCount];
+      indices = new int[nodeCount];
+      values = new Object[nodeCount];
+      hashes = new int[nodeCount];
+      leaves = new int[leafCount];
+      nodeCount = 0;
+      leafCount = 0;
+    }
+
+    // mirrors PklPropertySourceLoader.flatten
+    void add(int parent, @Nullable String name, int index, Object value) {
+      var node = addNode(parent, name, index);
+      if (value instanceof Composite composite) {
+        addChildren(node, composite.getProperties());
+      } else if (value instanceof Map<?, ?> map) {
+        addChildren(node, map);
+      } else if (value instanceof Collection<?> collection) {
+        if (collection.isEmpty()) {
+          addLeaf(node, value instanceof Set ? Collections.emptySet() : Collections.emptyList());
+        } else if (isView(collection)) {
+          viewCount++;
+          addLeaf(node, new ListView((List<?>) collection));
+        } else {
+          var elementIndex = 0;
+          for (var element : collection) {
+            add(node, null, elementIndex++, element);
+          }
+        }
+      } else {
+        addLeaf(node, value);
+      }
+    }
+
+    private void addChildren(int node, Map<?, ?> map) {
+      if (map.isEmpty()) {
+        addLeaf(node, Collections.emptyMap());
+      } else {
+        map.forEach((key, value) -> add(node, String.valueOf(key), NAMED, value));
+      }
+    }
+
+    // a non-empty list of scalar values, as flattened, with at least `minViewSize` elements
+    private boolean isView(Collection<?> collection) {
+      if (collection.size() < minViewSize
+          || !(collection instanceof List<?>)
+          || !(collection instanceof RandomAccess)) {
+        return false;
+      }
+      for (var element : collection) {
+        if (element instanceof Composite
+            || element instanceof Map
+            || element instanceof Collection) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private int addNode(int parent, @Nullable String name, int index) {
+      var node = nodeCount++;
+      parents[node] = parent;
+      indices[node] = index;
+      // same as the hash code of the property name
+      var hash = parent == NO_PARENT ? 0 : hashes[parent];
+      if (name == null) {
+        hash = hashIndex(hash, index);
+      } else {
+        names[node] = internedNames.computeIfAbsent(name, (key) -> key);
+        hash = hash(parent == NO_PARENT ? hash : 31 * hash + '.', name);
+      }
+      hashes[node] = hash;
+      return node;
+    }
+
+    private void addLeaf(int node, Object value) {
+      values[node] = value;
+      leaves[leafCount++] = node;
+    }
+
+    private static int hashIndex(int hash, int index) {
+      hash = 31 * hash + '[';
+      var divisor = 1;
+      while (divisor <= index / 10) divisor *= 10;
+      for (; divisor > 0; divisor /= 10) {
+        hash = 31 * hash + ('0' + index / divisor % 10);
+      }
+      return 31 * hash + ']';
+    }
+
+    private static int hash(int hash, String suffix) {
+      for (var i = 0; i < suffix.length(); i++) {
+        hash = 31 * hash + suffix.charAt(i);
+      }
+      return hash;
+    }
+  }
+}
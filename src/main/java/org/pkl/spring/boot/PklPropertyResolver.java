@@ -0,0 +1,192 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.PropertyResolver;
+import org.springframework.core.env.PropertySource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * A {@link PropertyResolver} that returns values of Pkl config files as they are.
+ *
+ * <p>{@link org.springframework.core.env.Environment#getProperty(String)} scans every string value
+ * for {@code ${...}} placeholders and passes every value through the conversion service. Pkl values
+ * are fully evaluated, hence this resolver skips placeholder resolution for them, and converts a
+ * value to a given type once rather than on every read. This makes it suitable for reading
+ * properties on a request path.
+ *
+ * <p>Property sources are consulted in the same order as by the environment. If the winning
+ * property source is not a Pkl property source, the lookup is delegated to the environment, so
+ * values of other property sources are resolved as usual. Placeholders in Pkl string values are not
+ * resolved.
+ */
+public final class PklPropertyResolver implements PropertyResolver {
+  private final ConfigurableEnvironment environment;
+
+  // property name -> parsed name and last conversion
+  private final Map<String, Lookup> lookups = new ConcurrentReferenceHashMap<>();
+
+  @Nullable private volatile Sources sources;
+
+  public PklPropertyResolver(ConfigurableEnvironment environment) {
+    this.environment = environment;
+  }
+
+  @Override
+  public boolean containsProperty(String key) {
+    var lookup = getLookup(key);
+    if (lookup.name == null) return environment.containsProperty(key);
+    for (var source : getSources().adapted) {
+      if (source.getConfigurationProperty(lookup.name) != null) return true;
+    }
+    return false;
+  }
+
+  @Override
+  public @Nullable String getProperty(String key) {
+    return getProperty(key, String.class);
+  }
+
+  @Override
+  public String getProperty(String key, String defaultValue) {
+    var value = getProperty(key);
+    return value == null ? defaultValue : value;
+  }
+
+  @Override
+  public <T> @Nullable T getProperty(String key, Class<T> targetType) {
+    var lookup = getLookup(key);
+    if (lookup.name == null) return environment.getProperty(key, targetType);
+    for (var source : getSources().adapted) {
+      var property = source.getConfigurationProperty(lookup.name);
+      if (property == null) continue;
+      if (!isPkl(source)) return environment.getProperty(key, targetType);
+      return lookup.convert(property.getValue(), targetType, environment);
+    }
+    return null;
+  }
+
+  @Override
+  public <T> T getProperty(String key, Class<T> targetType, T defaultValue) {
+    var value = getProperty(key, targetType);
+    return value == null ? defaultValue : value;
+  }
+
+  @Override
+  public String getRequiredProperty(String key) {
+    return getRequiredProperty(key, String.class);
+  }
+
+  @Override
+  public <T> T getRequiredProperty(String key, Class<T> targetType) {
+    var value = getProperty(key, targetType);
+    if (value == null) {
+      throw new IllegalStateException("Required key '" + key + "' not found");
+    }
+    return value;
+  }
+
+  @Override
+  public String resolvePlaceholders(String text) {
+    return environment.resolvePlaceholders(text);
+  }
+
+  @Override
+  public String resolveRequiredPlaceholders(String text) {
+    return environment.resolveRequiredPlaceholders(text);
+  }
+
+  private Lookup getLookup(String key) {
+    var lookup = lookups.get(key);
+    if (lookup == null) {
+      lookup = new Lookup(ConfigurationPropertyName.ofIfValid(key));
+      lookups.put(key, lookup);
+    }
+    return lookup;
+  }
+
+  private Sources getSources() {
+    var result = sources;
+    if (result == null || !result.isCurrent(environment)) {
+      result = new Sources(environment);
+      sources = result;
+    }
+    return result;
+  }
+
+  private static boolean isPkl(ConfigurationPropertySource source) {
+    var underlyingSource = source.getUnderlyingSource();
+    return underlyingSource instanceof PklPropertySource
+        || underlyingSource instanceof PklMapPropertySource;
+  }
+
+  /** The environment's property sources at some point in time, and their adapters. */
+  private static final class Sources {
+    private final PropertySource<?>[] propertySources;
+    private final List<ConfigurationPropertySource> adapted = new ArrayList<>();
+
+    Sources(ConfigurableEnvironment environment) {
+      propertySources = environment.getPropertySources().stream().toArray(PropertySource[]::new);
+      for (var propertySource : propertySources) {
+        var source = PklConfigurationPropertySources.adapt(propertySource);
+        if (source != null) adapted.add(source);
+      }
+    }
+
+    /** Tells whether the environment's property sources are still the same instances. */
+    boolean isCurrent(ConfigurableEnvironment environment) {
+      var index = 0;
+      for (var propertySource : environment.getPropertySources()) {
+        if (index == propertySources.length || propertySources[index++] != propertySource) {
+          return false;
+        }
+      }
+      return index == propertySources.length;
+    }
+  }
+
+  private static final class Lookup {
+    @Nullable private final ConfigurationPropertyName name;
+    @Nullable private volatile Conversion conversion;
+
+    Lookup(@Nullable ConfigurationPropertyName name) {
+      this.name = name;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> @Nullable T convert(
+        Object value, Class<T> targetType, ConfigurableEnvironment environment) {
+      if (targetType.isInstance(value)) return (T) value;
+      var last = conversion;
+      // Pkl values are immutable, and a reload replaces them
+      if (last != null && last.value == value && last.targetType == targetType) {
+        return (T) last.result;
+      }
+      var result = environment.getConversionService().convert(value, targetType);
+      conversion = new Conversion(value, targetType, result);
+      return result;
+    }
+  }
+
+  private record Conversion(Object value, Class<?> targetType, @Nullable Object result) {}
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.util.ArrayList;
+import org.pkl.core.PModule;
+import org.springframework.boot.origin.Origin;
+import org.springframework.boot.origin.OriginLookup;
+import org.springframework.boot.origin.TextResourceOrigin;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.lang.Nullable;
+
+/**
+ * A property source backed by an evaluated Pkl module.
+ *
+ * <p>Unlike the {@link org.springframework.core.env.MapPropertySource} created by default, this
+ * property source does not copy the module's values. Properties are resolved against the module's
+ * value tree on demand, and property names are computed when first requested.
+ *
+ * <p>To have {@link PklPropertySourceLoader} create property sources of this kind, set bootstrap
+ * property {@code pkl.loader.mode} to {@code lazy}.
+ */
+public class PklPropertySource extends EnumerablePropertySource<PModule>
+    implements OriginLookup<String> {
+  private final PklPropertyTree tree;
+  @Nullable private final PklLoadInfo loadInfo;
+  @Nullable private final Origin origin;
+
+  @Nullable private volatile String[] propertyNames;
+
+  public PklPropertySource(String name, PModule module) {
+    this(name, module, null);
+  }
+
+  public PklPropertySource(String name, PModule module, @Nullable PklLoadInfo loadInfo) {
+    super(name, module);
+    tree = new PklPropertyTree(module);
+    this.loadInfo = loadInfo;
+    origin = loadInfo != null ? new TextResourceOrigin(loadInfo.getResource(), null) : null;
+  }
+
+  @Override
+  public @Nullable Object getProperty(String name) {
+    return tree.get(name);
+  }
+
+  @Override
+  public boolean containsProperty(String name) {
+    return tree.get(name) != null;
+  }
+
+  @Override
+  public String[] getPropertyNames() {
+    var names = propertyNames;
+    if (names == null) {
+      var list = new ArrayList<String>();
+      tree.forEach((name, value) -> list.add(name));
+      names = list.toArray(String[]::new);
+      propertyNames = names;
+    }
+    return names;
+  }
+
+  /** Returns the config file that defines the given property, if known. */
+  @Override
+  public @Nullable Origin getOrigin(String name) {
+    return origin != null && containsProperty(name) ? origin : null;
+  }
+
+  /**
+   * Returns the config file that defines this property source's properties, if known. Used by
+   * adapters that resolve a property without knowing its name in this property source.
+   */
+  @Nullable
+  Origin getOrigin() {
+    return origin;
+  }
+
+  /** Returns {@code true}; a reloaded config file replaces its property source. */
+  @Override
+  public boolean isImmutable() {
+    return true;
+  }
+
+  /** Returns information about how this property source was loaded, if available. */
+  public @Nullable PklLoadInfo getLoadInfo() {
+    return loadInfo;
+  }
+
+  PklPropertyTree getTree() {
+    return tree;
+  }
+}
@@ -17,14 +17,36 @@ package org.pkl.spring.boot;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.*;
+import java.util.function.BiConsumer;
 import org.pkl.core.*;
 import org.springframework.boot.env.PropertySourceLoader;
-import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.PropertySource;
 import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
 
 public class PklPropertySourceLoader implements PropertySourceLoader {
+  @Nullable private final PklEvaluatorPool evaluatorPool;
+  @Nullable private final PklSettings settings;
+
+  public PklPropertySourceLoader() {
+    this(null, null);
+  }
+
+  PklPropertySourceLoader(@Nullable PklEvaluatorPool evaluatorPool) {
+    this(evaluatorPool, null);
+  }
+
+  /**
+   * Creates a loader that evaluates config files with the given pool and settings, or with those of
+   * the {@linkplain PklStartup#current() current startup} if {@code null}.
+   */
+  PklPropertySourceLoader(
+      @Nullable PklEvaluatorPool evaluatorPool, @Nullable PklSettings settings) {
+    this.evaluatorPool = evaluatorPool;
+    this.settings = settings;
+  }
 
   @Override
   public String[] getFileExtensions() {
@@ -34,37 +56,212 @@ public class PklPropertySourceLoader implements PropertySourceLoader {
   @Override
   public List<PropertySource<?>> load(String propertySourceName, Resource resource)
       throws IOException {
+    var properties = PklAotProperties.get(getSettings(), propertySourceName);
+    if (properties != null) return List.of(load(propertySourceName, resource, properties));
+    return load(propertySourceName, resource, PklStartup.current().takePrefetched(resource));
+  }
+
+  /** Loads a config file from the properties it was evaluated to ahead of time. */
+  private static PropertySource<?> load(
+      String propertySourceName, Resource resource, Map<String, Object> properties) {
+    var step = PklInstrumentation.start("pkl.config.load");
+    step.tag("resource", resource.getDescription());
+    step.tag("origin", PklLoadInfo.Origin.AOT.toString());
+    try {
+      var result = PklPropertyMap.of(properties);
+      var loadInfo =
+          new PklLoadInfo(resource, PklLoadInfo.Origin.AOT, Duration.ZERO, Duration.ZERO, result);
+      return new PklMapPropertySource(propertySourceName, result, null, loadInfo);
+    } finally {
+      step.end();
+    }
+  }
+
+  /**
+   * Loads a config file into property sources, using {@code loaded} if the config file has already
+   * been evaluated.
+   */
+  List<PropertySource<?>> load(
+      String propertySourceName, Resource resource, @Nullable LoadedModule loaded)
+      throws IOException {
+    var settings = getSettings();
+    var step = PklInstrumentation.start("pkl.config.load");
+    step.tag("resource", resource.getDescription());
+    try {
+      if (loaded == null) loaded = loadModule(resource);
+      var module = loaded.module();
+      step.tag("origin", loaded.origin().toString());
+
+      if (settings.getLoaderMode() == PklSettings.LoaderMode.LAZY) {
+        var loadInfo =
+            new PklLoadInfo(
+                resource, loaded.origin(), loaded.evaluationTime(), Duration.ZERO, module);
+        return List.of(new PklPropertySource(propertySourceName, module, loadInfo));
+      }
+      var flattenStep = PklInstrumentation.start("pkl.config.flatten");
+      var startTime = System.nanoTime();
+      var result =
+          settings.isListViewsEnabled()
+              ? PklPropertyMap.of(module.getProperties(), settings.getListViewsMinSize())
+              : PklPropertyMap.of(module.getProperties());
+      var flatteningTime = Duration.ofNanos(System.nanoTime() - startTime);
+      flattenStep.tag("properties", String.valueOf(result.size())).end();
+      var loadInfo =
+          new PklLoadInfo(
+              resource, loaded.origin(), loaded.evaluationTime(), flatteningTime, result);
+      var retainedModule =
+          settings.getBindingMode() == PklSettings.BindingMode.VALUE_MAPPER ? module : null;
+      return List.of(
+          new PklMapPropertySource(propertySourceName, result, retainedModule, loadInfo));
+    } finally {
+      step.end();
+    }
+  }
+
+  /** Loads the module for a config file from its snapshot, or by evaluating it. */
+  LoadedModule loadModule(Resource resource) throws IOException {
+    var settings = getSettings();
+    var startTime = System.nanoTime();
+    // the effect of customizers on the snapshot's evaluation is unknown
+    if (settings.isSnapshotEnabled() && settings.getEvaluatorCustomizers().isEmpty()) {
+      var module = loadSnapshot(resource, settings);
+      if (module != null) {
+        return new LoadedModule(
+            module, PklLoadInfo.Origin.SNAPSHOT, Duration.ofNanos(System.nanoTime() - startTime));
+      }
+    }
+    return evaluate(resource, settings, startTime);
+  }
+
+  private @Nullable PModule loadSnapshot(Resource resource, PklSettings settings)
+      throws IOException {
+    var snapshot = PklModuleSnapshot.find(resource);
+    if (snapshot == null) return null;
+    var text = readText(resource);
+    try (var input = snapshot.getInputStream()) {
+      return PklModuleSnapshot.read(input, resource.getURI(), text, settings);
+    }
+  }
+
+  private LoadedModule evaluate(Resource resource, PklSettings settings, long startTime)
+      throws IOException {
+    var pool = evaluatorPool != null ? evaluatorPool : PklStartup.current().getEvaluatorPool();
+    var moduleCache = PklModuleCache.fromSettings(settings);
+    var cache = PklEvaluationCache.fromSettings(settings);
+    if (moduleCache == null && cache == null) {
+      var moduleSource = toModuleSource(resource);
+      var module =
+          pool.execute(evaluator -> PklEvaluators.evaluate(settings, evaluator, moduleSource));
+      return new LoadedModule(
+          module, PklLoadInfo.Origin.EVALUATION, Duration.ofNanos(System.nanoTime() - startTime));
+    }
+    var text = readText(resource);
+    var moduleSource =
+        resource.isFile()
+            ? ModuleSource.file(resource.getFile())
+            : ModuleSource.create(resource.getURI(), text);
+    var dependencies =
+        PklModuleDependencies.collect(
+            moduleSource.getUri(), text, System.getenv(), getExternalProperties(settings));
+    if (dependencies != null && !settings.getModulePath().isEmpty()) {
+      // `modulepath:` URIs are resolved against the class path when collecting dependencies
+      for (var uri : dependencies.getUris()) {
+        if ("modulepath".equals(uri.getScheme())) {
+          dependencies = null;
+          break;
+        }
+      }
+    }
+    if (dependencies == null) {
+      var module =
+          pool.execute(evaluator -> PklEvaluators.evaluate(settings, evaluator, moduleSource));
+      return new LoadedModule(
+          module, PklLoadInfo.Origin.EVALUATION, Duration.ofNanos(System.nanoTime() - startTime));
+    }
+    if (moduleCache != null) {
+      var module = moduleCache.get(dependencies, settings);
+      if (module != null) {
+        return new LoadedModule(
+            module,
+            PklLoadInfo.Origin.SHARED_CACHE_HIT,
+            Duration.ofNanos(System.nanoTime() - startTime));
+      }
+    }
     PModule module;
-    try (var evaluator = EvaluatorBuilder.preconfigured().build()) {
-      module = evaluator.evaluate(toModuleSource(resource));
+    PklLoadInfo.Origin origin;
+    if (cache == null || !PklEvaluationCache.isCacheable(dependencies)) {
+      module = pool.execute(evaluator -> PklEvaluators.evaluate(settings, evaluator, moduleSource));
+      origin = PklLoadInfo.Origin.EVALUATION;
+    } else {
+      var evaluated = new boolean[1];
+      module =
+          cache.evaluate(
+              dependencies,
+              () -> {
+                evaluated[0] = true;
+                return pool.execute(
+                    evaluator -> PklEvaluators.evaluate(settings, evaluator, moduleSource));
+              });
+      origin = evaluated[0] ? PklLoadInfo.Origin.CACHE_MISS : PklLoadInfo.Origin.CACHE_HIT;
     }
+    if (moduleCache != null) moduleCache.put(dependencies, settings, module);
+    return new LoadedModule(module, origin, Duration.ofNanos(System.nanoTime() - startTime));
+  }
 
-    var result = new LinkedHashMap<String, Object>();
-    module.getProperties().forEach((name, value) -> flatten(name, value, result));
-    return List.of(new MapPropertySource(propertySourceName, result));
+  private PklSettings getSettings() {
+    return settings != null ? settings : PklStartup.current().getSettings();
   }
 
-  private ModuleSource toModuleSource(Resource resource) throws IOException {
+  static ModuleSource toModuleSource(Resource resource) throws IOException {
     if (resource.isFile()) {
       return ModuleSource.file(resource.getFile());
     }
-    var text = resource.getContentAsString(StandardCharsets.UTF_8);
-    return ModuleSource.create(resource.getURI(), text);
+    return ModuleSource.create(resource.getURI(), readText(resource));
+  }
+
+  // config files in jars are read once per JVM; imports relative to them are read the same way
+  private static String readText(Resource resource) throws IOException {
+    if (!resource.isFile()) {
+      var uri = resource.getURI();
+      if (PklJarModuleKeyFactory.isJarUri(uri)) return PklJarModuleKeyFactory.readString(uri);
+    }
+    return resource.getContentAsString(StandardCharsets.UTF_8);
   }
 
-  private static void flatten(
-      String propertyName, Object propertyValue, Map<String, Object> result) {
+  // the external properties of an evaluator created by PklEvaluators
+  static Map<String, String> getExternalProperties(PklSettings settings) {
+    var result = getSystemProperties();
+    result.putAll(settings.getExternalProperties());
+    return result;
+  }
+
+  // the external properties of a preconfigured evaluator, except for Truffle options, which
+  // PklEvaluators sets temporarily while building the first evaluator
+  static Map<String, String> getSystemProperties() {
+    var result = new HashMap<String, String>();
+    var properties = System.getProperties();
+    for (var name : properties.stringPropertyNames()) {
+      if (!name.startsWith("polyglot.")) result.put(name, properties.getProperty(name));
+    }
+    return result;
+  }
+
+  /** A module obtained for a config file, and how it was obtained. */
+  record LoadedModule(PModule module, PklLoadInfo.Origin origin, Duration evaluationTime) {}
+
+  static void flatten(
+      String propertyName, Object propertyValue, BiConsumer<String, Object> result) {
     if (propertyValue instanceof Composite composite) {
       flatten(propertyName, composite.getProperties(), result);
     } else if (propertyValue instanceof Map<?, ?> map) {
       if (map.isEmpty()) {
-        result.put(propertyName, Collections.emptyMap());
+        result.accept(propertyName, Collections.emptyMap());
       } else {
         map.forEach((name, value) -> flatten(propertyName + '.' + name, value, result));
       }
     } else if (propertyValue instanceof Collection<?> collection) {
       if (collection.isEmpty()) {
-        result.put(
+        result.accept(
             propertyName,
             propertyValue instanceof Set ? Collections.emptySet() : Collections.emptyList());
       } else {
@@ -75,7 +272,7 @@ public class PklPropertySourceLoader implements PropertySourceLoader {
         }
       }
     } else {
-      result.put(propertyName, propertyValue);
+      result.accept(propertyName, propertyValue);
     }
   }
 }
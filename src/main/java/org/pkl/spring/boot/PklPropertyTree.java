@@ -0,0 +1,253 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import org.pkl.core.Composite;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName.Form;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyState;
+import org.springframework.lang.Nullable;
+
+/**
+ * Resolves property names such as {@code a.b[3].c} against the value tree of an evaluated Pkl
+ * module.
+ *
+ * <p>Names and values are the same as those produced by {@link PklPropertySourceLoader#flatten},
+ * but are computed on demand. Lookup indexes for Pkl maps and sets are created when a map or set is
+ * first traversed.
+ */
+final class PklPropertyTree {
+  private final Map<String, Object> root;
+
+  // keyed by identity; value-based equality of Pkl objects is expensive and not what we want
+  private final Map<Object, Object> indexes = Collections.synchronizedMap(new IdentityHashMap<>());
+  private final Map<Object, Map<String, Object>> uniformIndexes =
+      Collections.synchronizedMap(new IdentityHashMap<>());
+
+  PklPropertyTree(Composite root) {
+    this.root = root.getProperties();
+  }
+
+  /** Returns the value of the property with the given name, or {@code null} if there is none. */
+  @Nullable
+  Object get(String name) {
+    return name.isEmpty() ? null : resolveEntry(root, name, 0);
+  }
+
+  /** Returns the value of the property with the given name, or {@code null} if there is none. */
+  @Nullable
+  Object get(ConfigurationPropertyName name) {
+    return name.isEmpty() ? null : walkEntries(root, name, 0, PklPropertyTree::toPropertyValue);
+  }
+
+  /**
+   * Returns the Pkl value at the given path, which may be an object or collection, or {@code null}
+   * if there is none.
+   */
+  @Nullable
+  Object getValue(ConfigurationPropertyName name) {
+    return name.isEmpty() ? null : walkEntries(root, name, 0, Function.identity());
+  }
+
+  /**
+   * Tells whether this tree has properties whose names start with, but differ from, {@code name}.
+   */
+  ConfigurationPropertyState containsDescendantOf(ConfigurationPropertyName name) {
+    var result =
+        name.isEmpty()
+            ? (hasDescendants(root) ? ConfigurationPropertyState.PRESENT : null)
+            : walkEntries(
+                root,
+                name,
+                0,
+                (value) -> hasDescendants(value) ? ConfigurationPropertyState.PRESENT : null);
+    return result != null ? result : ConfigurationPropertyState.ABSENT;
+  }
+
+  /** Performs {@code action} for each property in this tree, in flattening order. */
+  void forEach(BiConsumer<String, Object> action) {
+    root.forEach((name, value) -> PklPropertySourceLoader.flatten(name, value, action));
+  }
+
+  private @Nullable Object resolve(Object value, String name, int pos) {
+    if (pos == name.length()) {
+      return toPropertyValue(value);
+    }
+    if (value instanceof Composite composite) {
+      return name.charAt(pos) == '.'
+          ? resolveEntry(composite.getProperties(), name, pos + 1)
+          : null;
+    }
+    if (value instanceof Map<?, ?> map) {
+      return name.charAt(pos) == '.' ? resolveEntry(keyIndex(map), name, pos + 1) : null;
+    }
+    if (value instanceof Collection<?> collection) {
+      if (name.charAt(pos) != '[') return null;
+      var end = name.indexOf(']', pos + 1);
+      if (end == -1) return null;
+      var index = parseIndex(name, pos + 1, end);
+      if (index < 0 || index >= collection.size()) return null;
+      return resolve(elementAt(collection, index), name, end + 1);
+    }
+    return null;
+  }
+
+  private @Nullable Object resolveEntry(Map<String, ?> entries, String name, int start) {
+    // keys may themselves contain `.` or `[`, hence try successively longer candidates
+    for (var end = nextSeparator(name, start); ; end = nextSeparator(name, end + 1)) {
+      var child = entries.get(name.substring(start, end));
+      if (child != null) {
+        var result = resolve(child, name, end);
+        if (result != null) return result;
+      }
+      if (end == name.length()) return null;
+    }
+  }
+
+  private <T> @Nullable T walk(
+      Object value, ConfigurationPropertyName name, int element, Function<Object, T> atEnd) {
+    if (element == name.getNumberOfElements()) {
+      return atEnd.apply(value);
+    }
+    if (value instanceof Composite composite) {
+      return walkEntries(composite.getProperties(), name, element, atEnd);
+    }
+    if (value instanceof Map<?, ?> map) {
+      return walkEntries(map, name, element, atEnd);
+    }
+    if (value instanceof Collection<?> collection) {
+      var indexElement = name.getElement(element, Form.ORIGINAL);
+      var index = parseIndex(indexElement, 0, indexElement.length());
+      if (index < 0 || index >= collection.size()) return null;
+      return walk(elementAt(collection, index), name, element + 1, atEnd);
+    }
+    return null;
+  }
+
+  private <T> @Nullable T walkEntries(
+      Map<?, ?> entries, ConfigurationPropertyName name, int element, Function<Object, T> atEnd) {
+    var index = uniformIndex(entries);
+    // keys may themselves contain `.`, hence try successively longer candidates
+    var key = new StringBuilder();
+    for (var end = element; end < name.getNumberOfElements(); end++) {
+      // keep elements apart so that `a.b` does not match key `ab`
+      if (end > element) key.append('.');
+      key.append(toUniformForm(name.getElement(end, Form.UNIFORM)));
+      var child = index.get(key.toString());
+      if (child != null) {
+        var result = walk(child, name, end + 1, atEnd);
+        if (result != null) return result;
+      }
+    }
+    return null;
+  }
+
+  private Map<String, Object> uniformIndex(Map<?, ?> map) {
+    return uniformIndexes.computeIfAbsent(
+        map,
+        (key) -> {
+          var index = new HashMap<String, Object>(map.size() * 4 / 3 + 1);
+          map.forEach((k, v) -> index.put(toUniformForm(String.valueOf(k)), v));
+          return index;
+        });
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, ?> keyIndex(Map<?, ?> map) {
+    return (Map<String, ?>)
+        indexes.computeIfAbsent(
+            map,
+            (key) -> {
+              var index = new HashMap<String, Object>(map.size() * 4 / 3 + 1);
+              // same key strings as created by `flatten`; on collision, the last entry wins
+              map.forEach((k, v) -> index.put(String.valueOf(k), v));
+              return index;
+            });
+  }
+
+  private Object elementAt(Collection<?> collection, int index) {
+    if (collection instanceof List<?> list) return list.get(index);
+    var elements =
+        (List<?>) indexes.computeIfAbsent(collection, (key) -> List.of(collection.toArray()));
+    return elements.get(index);
+  }
+
+  private static @Nullable Object toPropertyValue(Object value) {
+    if (value instanceof Composite composite) {
+      return composite.getProperties().isEmpty() ? Collections.emptyMap() : null;
+    }
+    if (value instanceof Map<?, ?> map) {
+      return map.isEmpty() ? Collections.emptyMap() : null;
+    }
+    if (value instanceof Collection<?> collection) {
+      if (!collection.isEmpty()) return null;
+      return value instanceof Set ? Collections.emptySet() : Collections.emptyList();
+    }
+    return value;
+  }
+
+  private static boolean hasDescendants(Object value) {
+    if (value instanceof Composite composite) return !composite.getProperties().isEmpty();
+    if (value instanceof Map<?, ?> map) return !map.isEmpty();
+    if (value instanceof Collection<?> collection) return !collection.isEmpty();
+    return false;
+  }
+
+  /**
+   * Converts a name element or key to the form used by {@link ConfigurationPropertyName} for
+   * equality checks: lowercase, with all characters other than {@code a-z}, {@code 0-9}, and {@code
+   * .} removed. Dots are kept so that a key containing dots only matches a name with the same
+   * elements.
+   */
+  static String toUniformForm(String element) {
+    for (var i = 0; i < element.length(); i++) {
+      var ch = element.charAt(i);
+      if (!(ch >= 'a' && ch <= 'z' || ch >= '0' && ch <= '9' || ch == '.')) {
+        var result = new StringBuilder(element.length());
+        for (var j = 0; j < element.length(); j++) {
+          var lower = Character.toLowerCase(element.charAt(j));
+          if (lower >= 'a' && lower <= 'z' || lower >= '0' && lower <= '9' || lower == '.') {
+            result.append(lower);
+          }
+        }
+        return result.toString();
+      }
+    }
+    return element;
+  }
+
+  private static int nextSeparator(String name, int from) {
+    for (var i = from; i < name.length(); i++) {
+      var ch = name.charAt(i);
+      if (ch == '.' || ch == '[') return i;
+    }
+    return name.length();
+  }
+
+  private static int parseIndex(String name, int start, int end) {
+    if (start == end || end - start > 9) return -1;
+    var result = 0;
+    for (var i = start; i < end; i++) {
+      var digit = name.charAt(i) - '0';
+      if (digit < 0 || digit > 9) return -1;
+      result = result * 10 + digit;
+    }
+    return result;
+  }
+}
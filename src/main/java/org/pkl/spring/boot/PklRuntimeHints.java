@@ -0,0 +1,41 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.lang.Nullable;
+
+/**
+ * Registers the resources that {@code pkl-spring} reads at runtime in a native image.
+ *
+ * <p>Spring Boot registers the config files themselves, and {@link PklAotProcessor} registers the
+ * class generated for config files evaluated ahead of time. Config files that were not evaluated
+ * ahead of time are loaded from their {@linkplain PklModuleSnapshot snapshot} if one exists and
+ * snapshots are enabled, and are otherwise evaluated, which reads Pkl's standard library.
+ *
+ * <p>Registered in {@code META-INF/spring/aot.factories}.
+ */
+final class PklRuntimeHints implements RuntimeHintsRegistrar {
+  @Override
+  public void registerHints(RuntimeHints hints, @Nullable ClassLoader classLoader) {
+    for (var extension : new PklPropertySourceLoader().getFileExtensions()) {
+      var snapshot = "application*." + extension + PklModuleSnapshot.SUFFIX;
+      hints.resources().registerPattern(snapshot).registerPattern("config/" + snapshot);
+    }
+    hints.resources().registerPattern("org/pkl/core/stdlib/*.pkl");
+  }
+}
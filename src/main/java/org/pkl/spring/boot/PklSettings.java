@@ -0,0 +1,296 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.PropertyResolver;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+/**
+ * Settings that control how Pkl config files are loaded.
+ *
+ * <p>Pkl config files are loaded before the application's own config is available. Hence these
+ * settings are read from the sources that Spring Boot consults before loading config files: system
+ * properties, environment variables, and command line arguments. {@link
+ * PklEnvironmentPostProcessor} captures them once per application startup (see {@link PklStartup}).
+ */
+final class PklSettings {
+  static final String PREFIX = "pkl.";
+
+  private final boolean poolEnabled;
+  private final int poolMaxSize;
+  private final Duration poolIdleTimeout;
+  private final LoaderMode loaderMode;
+  private final BindingMode bindingMode;
+  @Nullable private final Path cacheDir;
+  private final boolean snapshotEnabled;
+  private final boolean prefetchEnabled;
+  private final int prefetchParallelism;
+  private final boolean listViewsEnabled;
+  private final int listViewsMinSize;
+  private final boolean moduleCacheEnabled;
+  private final int moduleCacheMaxEntries;
+  private final boolean aotEnabled;
+  private final boolean trainingEnabled;
+  @Nullable private final Duration evaluatorTimeout;
+  private final EngineMode engineMode;
+  private final List<Pattern> allowedModules;
+  private final List<Pattern> allowedResources;
+  private final List<Path> modulePath;
+  private final Map<String, String> externalProperties;
+  @Nullable private volatile List<PklEvaluatorCustomizer> evaluatorCustomizers;
+
+  PklSettings(PropertyResolver properties) {
+    poolEnabled = properties.getProperty(PREFIX + "evaluator.pool.enabled", Boolean.class, true);
+    poolMaxSize =
+        properties.getProperty(
+            PREFIX + "evaluator.pool.max-size",
+            Integer.class,
+            Math.max(1, Runtime.getRuntime().availableProcessors()));
+    poolIdleTimeout =
+        getDuration(properties, PREFIX + "evaluator.pool.idle-timeout", Duration.ofSeconds(30));
+    loaderMode = getEnum(properties, PREFIX + "loader.mode", LoaderMode.class, LoaderMode.FLAT);
+    bindingMode =
+        getEnum(properties, PREFIX + "binding.mode", BindingMode.class, BindingMode.DEFAULT);
+    var cacheDirValue = properties.getProperty(PREFIX + "cache.dir");
+    cacheDir =
+        cacheDirValue == null || cacheDirValue.isBlank() ? null : Path.of(cacheDirValue.trim());
+    snapshotEnabled = properties.getProperty(PREFIX + "snapshot.enabled", Boolean.class, false);
+    prefetchEnabled =
+        properties.getProperty(PREFIX + "loader.prefetch.enabled", Boolean.class, false);
+    prefetchParallelism =
+        properties.getProperty(PREFIX + "loader.prefetch.parallelism", Integer.class, poolMaxSize);
+    listViewsEnabled =
+        properties.getProperty(PREFIX + "loader.list-views.enabled", Boolean.class, true);
+    listViewsMinSize =
+        properties.getProperty(PREFIX + "loader.list-views.min-size", Integer.class, 1000);
+    moduleCacheEnabled =
+        properties.getProperty(PREFIX + "module-cache.enabled", Boolean.class, false);
+    moduleCacheMaxEntries =
+        properties.getProperty(PREFIX + "module-cache.max-entries", Integer.class, 64);
+    aotEnabled = properties.getProperty(PREFIX + "aot.enabled", Boolean.class, true);
+    trainingEnabled = properties.getProperty(PREFIX + "training.enabled", Boolean.class, false);
+    evaluatorTimeout = getDuration(properties, PREFIX + "evaluator.timeout", null);
+    engineMode =
+        getEnum(properties, PREFIX + "evaluator.engine-mode", EngineMode.class, EngineMode.DEFAULT);
+    allowedModules = getPatterns(properties, PREFIX + "evaluator.allowed-modules");
+    allowedResources = getPatterns(properties, PREFIX + "evaluator.allowed-resources");
+    modulePath =
+        getList(properties, PREFIX + "evaluator.module-path").stream().map(Path::of).toList();
+    externalProperties =
+        properties instanceof ConfigurableEnvironment environment
+            ? Binder.get(environment)
+                .bind(
+                    PREFIX + "evaluator.external-properties",
+                    Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of())
+            : Map.of();
+  }
+
+  /** Whether evaluators are reused across loads. */
+  boolean isPoolEnabled() {
+    return poolEnabled;
+  }
+
+  /** The maximum number of evaluators that exist at any time. */
+  int getPoolMaxSize() {
+    return poolMaxSize;
+  }
+
+  /** How long an unused evaluator is kept around before it is closed. */
+  Duration getPoolIdleTimeout() {
+    return poolIdleTimeout;
+  }
+
+  /** The kind of property source created for a Pkl config file. */
+  LoaderMode getLoaderMode() {
+    return loaderMode;
+  }
+
+  /** How {@code @ConfigurationProperties} value objects are bound. */
+  BindingMode getBindingMode() {
+    return bindingMode;
+  }
+
+  /** The directory where evaluated modules are cached, or {@code null} if caching is disabled. */
+  @Nullable
+  Path getCacheDir() {
+    return cacheDir;
+  }
+
+  /** Whether config files are loaded from build-time snapshots if available. */
+  boolean isSnapshotEnabled() {
+    return snapshotEnabled;
+  }
+
+  /** Whether config files are evaluated concurrently ahead of being loaded. */
+  boolean isPrefetchEnabled() {
+    return prefetchEnabled;
+  }
+
+  /** The maximum number of config files evaluated concurrently. */
+  int getPrefetchParallelism() {
+    return prefetchParallelism;
+  }
+
+  /** Whether large lists of scalar values are referred to instead of being flattened. */
+  boolean isListViewsEnabled() {
+    return listViewsEnabled;
+  }
+
+  /** The minimum number of elements of a list that is referred to instead of being flattened. */
+  int getListViewsMinSize() {
+    return listViewsMinSize;
+  }
+
+  /** Whether evaluated modules are shared by all applications in the JVM. */
+  boolean isModuleCacheEnabled() {
+    return moduleCacheEnabled;
+  }
+
+  /** The maximum number of evaluated modules shared by all applications in the JVM. */
+  int getModuleCacheMaxEntries() {
+    return moduleCacheMaxEntries;
+  }
+
+  /** Whether config files evaluated during ahead-of-time processing are used if available. */
+  boolean isAotEnabled() {
+    return aotEnabled;
+  }
+
+  /** Whether this is a training run that evaluates all config files, such as for AppCDS. */
+  boolean isTrainingEnabled() {
+    return trainingEnabled;
+  }
+
+  /** The maximum time allowed for evaluating a config file, or {@code null} if unlimited. */
+  @Nullable
+  Duration getEvaluatorTimeout() {
+    return evaluatorTimeout;
+  }
+
+  /** How the Truffle engine that evaluates config files is tuned. */
+  EngineMode getEngineMode() {
+    return engineMode;
+  }
+
+  /** URI patterns of modules that config files may import, or empty for Pkl's default. */
+  List<Pattern> getAllowedModules() {
+    return allowedModules;
+  }
+
+  /** URI patterns of resources that config files may read, or empty for Pkl's default. */
+  List<Pattern> getAllowedResources() {
+    return allowedResources;
+  }
+
+  /** Directories and jar files searched for {@code modulepath:} URIs. */
+  List<Path> getModulePath() {
+    return modulePath;
+  }
+
+  /** External properties that config files may read with {@code read("prop:<name>")}. */
+  Map<String, String> getExternalProperties() {
+    return externalProperties;
+  }
+
+  /**
+   * Customizers registered in {@code META-INF/spring.factories}, which are instantiated when first
+   * requested.
+   */
+  List<PklEvaluatorCustomizer> getEvaluatorCustomizers() {
+    var result = evaluatorCustomizers;
+    if (result == null) {
+      // customizers refer to Pkl classes, which are only loaded once a config file is evaluated
+      result =
+          SpringFactoriesLoader.forDefaultResourceLocation().load(PklEvaluatorCustomizer.class);
+      evaluatorCustomizers = result;
+    }
+    return result;
+  }
+
+  @Nullable
+  private static Duration getDuration(
+      PropertyResolver properties, String name, @Nullable Duration defaultValue) {
+    var value = properties.getProperty(name);
+    return value == null || value.isBlank() ? defaultValue : DurationStyle.detectAndParse(value);
+  }
+
+  private static List<String> getList(PropertyResolver properties, String name) {
+    var value = properties.getProperty(name);
+    if (value == null || value.isBlank()) return List.of();
+    return Arrays.stream(StringUtils.commaDelimitedListToStringArray(value))
+        .map(String::trim)
+        .filter((element) -> !element.isEmpty())
+        .toList();
+  }
+
+  private static List<Pattern> getPatterns(PropertyResolver properties, String name) {
+    return getList(properties, name).stream().map(Pattern::compile).toList();
+  }
+
+  private static <E extends Enum<E>> E getEnum(
+      PropertyResolver properties, String name, Class<E> type, E defaultValue) {
+    var value = properties.getProperty(name);
+    return value == null || value.isBlank()
+        ? defaultValue
+        : Enum.valueOf(type, value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+  }
+
+  enum LoaderMode {
+    /** Copies all properties into a {@link org.springframework.core.env.MapPropertySource}. */
+    FLAT,
+    /** Resolves properties on demand with a {@link PklPropertySource}. */
+    LAZY
+  }
+
+  enum EngineMode {
+    /** Uses Truffle's default options. */
+    DEFAULT,
+    /**
+     * Tunes Truffle for evaluating each config file once, by interpreting code instead of compiling
+     * it.
+     */
+    STARTUP
+  }
+
+  enum BindingMode {
+    /** Leaves binding to Spring Boot. */
+    DEFAULT,
+    /**
+     * Binds value objects with a {@link org.springframework.boot.context.properties.bind.Binder}
+     * that reads Pkl property sources through {@link PklConfigurationPropertySource}.
+     */
+    BINDER,
+    /**
+     * Maps Pkl values directly with Pkl's {@link org.pkl.config.java.mapper.ValueMapper} where
+     * possible.
+     */
+    VALUE_MAPPER
+  }
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.pkl.core.Composite;
+import org.pkl.core.DataSize;
+import org.pkl.core.Duration;
+import org.pkl.core.PNull;
+import org.pkl.core.Pair;
+
+/**
+ * Estimates the heap retained by Pkl values and flattened properties.
+ *
+ * <p>Estimates assume a 64-bit JVM with compressed object pointers and compact strings. They are
+ * meant for comparing configs and loader modes, not for exact accounting.
+ */
+final class PklSizeEstimator {
+  private static final int OBJECT_HEADER = 12;
+  private static final int REFERENCE = 4;
+  private static final int ARRAY_HEADER = 16;
+  private static final int MAP_ENTRY = 40; // LinkedHashMap.Entry
+  private static final int HASH_MAP = 56; // LinkedHashMap
+
+  private PklSizeEstimator() {}
+
+  /** Estimates the heap retained by {@code value} and all values reachable from it. */
+  static long estimate(Object value) {
+    var visited = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+    var pending = new ArrayDeque<Object>();
+    pending.push(value);
+    long result = 0;
+    while (!pending.isEmpty()) {
+      var next = pending.pop();
+      if (!visited.add(next)) continue;
+      if (next instanceof PklPropertyMap map) {
+        result += map.estimateShallowSize();
+        map.forEachRetained(pending::push);
+        continue;
+      }
+      result += shallowSize(next);
+      if (next instanceof Composite composite) {
+        pending.push(composite.getProperties());
+      } else if (next instanceof Map<?, ?> map) {
+        for (var entry : map.entrySet()) {
+          pending.push(entry.getKey());
+          pending.push(entry.getValue());
+        }
+      } else if (next instanceof Collection<?> collection) {
+        collection.forEach(pending::push);
+      } else if (next instanceof Pair<?, ?> pair) {
+        pending.push(pair.getFirst());
+        pending.push(pair.getSecond());
+      }
+    }
+    return result;
+  }
+
+  private static long shallowSize(Object value) {
+    if (value instanceof String string) {
+      return align(OBJECT_HEADER + REFERENCE + 8) + align(ARRAY_HEADER + string.length());
+    }
+    if (value instanceof Map<?, ?> map) {
+      return HASH_MAP
+          + align(ARRAY_HEADER + (long) tableSize(map.size()) * REFERENCE)
+          + (long) map.size() * MAP_ENTRY;
+    }
+    if (value instanceof Set<?> set) {
+      // a set is backed by a map
+      return 16
+          + HASH_MAP
+          + align(ARRAY_HEADER + (long) tableSize(set.size()) * REFERENCE)
+          + (long) set.size() * MAP_ENTRY;
+    }
+    if (value instanceof Collection<?> collection) {
+      return 24 + align(ARRAY_HEADER + (long) collection.size() * REFERENCE);
+    }
+    if (value instanceof Boolean || value instanceof PNull) {
+      return 0; // shared instances
+    }
+    if (value instanceof Duration || value instanceof DataSize || value instanceof Pair) {
+      return 24;
+    }
+    if (value instanceof Composite) {
+      return align(OBJECT_HEADER + 2 * REFERENCE); // class info and property map
+    }
+    return 16; // boxed numbers and other small values
+  }
+
+  private static int tableSize(int size) {
+    var capacity = 16;
+    while (capacity * 3 / 4 < size) capacity <<= 1;
+    return capacity;
+  }
+
+  private static long align(long size) {
+    return (size + 7) & ~7L;
+  }
+}
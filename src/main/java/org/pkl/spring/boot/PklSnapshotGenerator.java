@@ -0,0 +1,112 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.pkl.core.ModuleSource;
+import org.springframework.core.env.StandardEnvironment;
+
+/**
+ * Evaluates Pkl config files at build time into snapshots that {@link PklPropertySourceLoader}
+ * loads instead of evaluating the config files, if bootstrap property {@code pkl.snapshot.enabled}
+ * is {@code true}.
+ *
+ * <p>Usage: {@code PklSnapshotGenerator <resourcesDir> <outputDir>}. Every file in {@code
+ * resourcesDir} (or a subdirectory) named {@code application*.pkl} is evaluated, and its snapshot
+ * is written to the corresponding location in {@code outputDir}. Adding {@code outputDir} as a
+ * resource directory packages the snapshots next to the config files.
+ *
+ * <p>Config files are evaluated with the {@code pkl.evaluator.*} settings read from the generator's
+ * system properties and environment variables, and a snapshot is only used if the application runs
+ * with the same settings. Config files that read environment variables or external properties are
+ * skipped, because their snapshots would contain values at build time, which often are secrets.
+ * Config files whose dependencies cannot be determined statically are skipped too, as are all
+ * config files if a {@link PklEvaluatorCustomizer} is registered.
+ */
+public final class PklSnapshotGenerator {
+  private PklSnapshotGenerator() {}
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 2) {
+      System.err.println("Usage: PklSnapshotGenerator <resourcesDir> <outputDir>");
+      System.exit(1);
+    }
+    var settings = new PklSettings(new StandardEnvironment());
+    generate(Path.of(args[0]), Path.of(args[1]), settings)
+        .forEach(
+            (skipped, reason) ->
+                System.err.println("Skipped " + skipped + " because " + reason + '.'));
+  }
+
+  /**
+   * Writes snapshots of all config files in {@code resourcesDir} to {@code outputDir}, evaluated
+   * with {@code settings}, returning the config files that were skipped and why.
+   */
+  static Map<Path, String> generate(Path resourcesDir, Path outputDir, PklSettings settings)
+      throws IOException {
+    var matcher = FileSystems.getDefault().getPathMatcher("glob:application*.pkl");
+    List<Path> configFiles;
+    try (var files = Files.walk(resourcesDir)) {
+      configFiles =
+          files
+              .filter(file -> Files.isRegularFile(file) && matcher.matches(file.getFileName()))
+              .sorted()
+              .toList();
+    }
+    if (Files.isDirectory(outputDir)) {
+      // remove snapshots of deleted config files
+      try (var files = Files.walk(outputDir)) {
+        for (var file :
+            files.filter(it -> it.toString().endsWith(PklModuleSnapshot.SUFFIX)).toList()) {
+          Files.delete(file);
+        }
+      }
+    }
+    var skipped = new LinkedHashMap<Path, String>();
+    if (!settings.getEvaluatorCustomizers().isEmpty()) {
+      for (var configFile : configFiles) {
+        skipped.put(configFile, "evaluator customizers are registered");
+      }
+      return skipped;
+    }
+    try (var evaluator = PklEvaluators.newBuilder(settings).build()) {
+      for (var configFile : configFiles) {
+        var text = Files.readString(configFile);
+        var reason = PklModuleDependencies.getRuntimeReason(configFile.toUri(), text);
+        if (reason != null) {
+          skipped.put(configFile, reason);
+          continue;
+        }
+        var module =
+            PklEvaluators.evaluate(
+                settings, evaluator, ModuleSource.create(configFile.toUri(), text));
+        var snapshot =
+            outputDir.resolve(resourcesDir.relativize(configFile) + PklModuleSnapshot.SUFFIX);
+        Files.createDirectories(snapshot.getParent());
+        try (var output = Files.newOutputStream(snapshot)) {
+          PklModuleSnapshot.write(output, configFile.toUri(), text, settings, module);
+        }
+      }
+    }
+    return skipped;
+  }
+}
@@ -0,0 +1,217 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.BootstrapContext;
+import org.springframework.boot.BootstrapRegistry.InstanceSupplier;
+import org.springframework.boot.ConfigurableBootstrapContext;
+import org.springframework.boot.SpringApplication;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.Resource;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.lang.Nullable;
+
+/**
+ * The state of loading Pkl config files during one application startup: the {@link PklSettings}
+ * captured by {@link PklEnvironmentPostProcessor}, the application's {@link ApplicationStartup}
+ * used by {@link PklInstrumentation}, the evaluator pool shared by all loads, and the {@linkplain
+ * PklModulePrefetcher prefetched} config files.
+ *
+ * <p>A startup is stored in the bootstrap context and closed together with it, once all config
+ * files have been loaded. If any Pkl config files were loaded, its settings are then registered as
+ * bean {@value #SETTINGS_BEAN_NAME} of the application context. Applications started concurrently,
+ * or one after another, each have their own startup.
+ *
+ * <p>Spring Boot asks {@link PklPropertySourceLoader} to load config files without passing the
+ * bootstrap context. Hence a startup is also {@linkplain #current() current} for the thread that
+ * starts the application, and for the threads that prefetch its config files, until it is closed.
+ * Loads outside of an application startup use default settings and do not reuse evaluators.
+ */
+final class PklStartup implements AutoCloseable {
+  static final String SETTINGS_BEAN_NAME = "org.pkl.spring.boot.PklSettings";
+
+  private static final ThreadLocal<PklStartup> current = new ThreadLocal<>();
+
+  private static final PklStartup standalone =
+      new PklStartup(null, new PklSettings(new StandardEnvironment()), null, false);
+
+  @Nullable private final SpringApplication application;
+  private final PklSettings settings;
+  // the startup that was current when this one became current, restored once this one is closed
+  @Nullable private final PklStartup previous;
+  private final boolean reuseEvaluators;
+
+  // not retained once closed
+  private volatile ApplicationStartup applicationStartup;
+  @Nullable private PklEvaluatorPool evaluatorPool;
+  @Nullable private PklModulePrefetcher prefetcher;
+  private boolean closed;
+
+  private PklStartup(
+      @Nullable SpringApplication application,
+      PklSettings settings,
+      @Nullable PklStartup previous,
+      boolean reuseEvaluators) {
+    this.application = application;
+    this.settings = settings;
+    this.previous = previous;
+    this.reuseEvaluators = reuseEvaluators;
+    applicationStartup =
+        application != null ? application.getApplicationStartup() : ApplicationStartup.DEFAULT;
+  }
+
+  /**
+   * Starts loading the config files of {@code application} with {@code settings}, storing the
+   * startup in {@code bootstrapContext} and making it current for this thread.
+   */
+  static PklStartup start(
+      ConfigurableBootstrapContext bootstrapContext,
+      SpringApplication application,
+      PklSettings settings) {
+    if (bootstrapContext.isRegistered(PklStartup.class)) {
+      return bootstrapContext.get(PklStartup.class);
+    }
+    var startup = new PklStartup(application, settings, current.get(), settings.isPoolEnabled());
+    current.set(startup);
+    bootstrapContext.register(PklStartup.class, InstanceSupplier.of(startup));
+    bootstrapContext.addCloseListener(
+        (event) -> {
+          startup.close();
+          var applicationContext = event.getApplicationContext();
+          if (hasPklPropertySources(applicationContext.getEnvironment())) {
+            applicationContext.getBeanFactory().registerSingleton(SETTINGS_BEAN_NAME, settings);
+            // only needed while config files are loaded
+            PklJarModuleKeyFactory.clear();
+          }
+        });
+    return startup;
+  }
+
+  private static boolean hasPklPropertySources(ConfigurableEnvironment environment) {
+    for (var propertySource : environment.getPropertySources()) {
+      if (propertySource instanceof PklPropertySource
+          || propertySource instanceof PklMapPropertySource) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Returns the startup stored in {@code bootstrapContext}, or the current one if none is. */
+  static PklStartup get(BootstrapContext bootstrapContext) {
+    return bootstrapContext.isRegistered(PklStartup.class)
+        ? bootstrapContext.get(PklStartup.class)
+        : current();
+  }
+
+  /** Returns the startup of the application being started by this thread, if any. */
+  static PklStartup current() {
+    var result = current.get();
+    return result != null ? result : standalone;
+  }
+
+  /** Closes the startup of {@code application} if it is current for this thread. */
+  static void close(SpringApplication application) {
+    var result = current.get();
+    if (result != null && result.application == application) result.close();
+  }
+
+  PklSettings getSettings() {
+    return settings;
+  }
+
+  /** The application's startup recorder, or {@link ApplicationStartup#DEFAULT} once closed. */
+  ApplicationStartup getApplicationStartup() {
+    return applicationStartup;
+  }
+
+  /** Returns the pool shared by all loads of this startup, creating it if necessary. */
+  synchronized PklEvaluatorPool getEvaluatorPool() {
+    if (!reuseEvaluators || closed) {
+      return new PklEvaluatorPool(
+          () -> PklEvaluators.create(settings), settings.getPoolMaxSize(), Duration.ZERO);
+    }
+    if (evaluatorPool == null) {
+      evaluatorPool =
+          new PklEvaluatorPool(
+              () -> PklEvaluators.create(settings),
+              settings.getPoolMaxSize(),
+              settings.getPoolIdleTimeout());
+    }
+    return evaluatorPool;
+  }
+
+  /** Starts evaluating {@code configFiles}, ahead of Spring Boot asking for them. */
+  synchronized void prefetch(List<Resource> configFiles) {
+    if (closed) return;
+    if (prefetcher != null) prefetcher.cancel();
+    var loader = new PklPropertySourceLoader(getEvaluatorPool(), settings);
+    prefetcher =
+        PklModulePrefetcher.start(
+            configFiles,
+            (configFile) -> {
+              // record steps with this startup's `ApplicationStartup`
+              var previous = current.get();
+              current.set(this);
+              try {
+                return loader.loadModule(configFile);
+              } finally {
+                if (previous != null) current.set(previous);
+                else current.remove();
+              }
+            },
+            settings.getPrefetchParallelism());
+  }
+
+  /**
+   * Returns the prefetched module for {@code configFile}, waiting for its evaluation to complete,
+   * or {@code null} if it was not prefetched.
+   */
+  @Nullable
+  PklPropertySourceLoader.LoadedModule takePrefetched(Resource configFile) throws IOException {
+    PklModulePrefetcher prefetcher;
+    synchronized (this) {
+      prefetcher = this.prefetcher;
+    }
+    return prefetcher != null ? prefetcher.take(configFile) : null;
+  }
+
+  /** Cancels prefetching and closes the evaluator pool. */
+  @Override
+  public void close() {
+    PklModulePrefetcher prefetcher;
+    PklEvaluatorPool evaluatorPool;
+    synchronized (this) {
+      if (closed) return;
+      closed = true;
+      applicationStartup = ApplicationStartup.DEFAULT;
+      prefetcher = this.prefetcher;
+      evaluatorPool = this.evaluatorPool;
+      this.prefetcher = null;
+      this.evaluatorPool = null;
+    }
+    if (current.get() == this) {
+      if (previous != null) current.set(previous);
+      else current.remove();
+    }
+    if (prefetcher != null) prefetcher.cancel();
+    if (evaluatorPool != null) evaluatorPool.close();
+  }
+}
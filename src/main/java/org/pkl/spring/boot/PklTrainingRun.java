@@ -0,0 +1,87 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.boot.ConfigurableBootstrapContext;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.config.ConfigDataEnvironmentPostProcessor;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+/**
+ * Evaluates the application's Pkl config files once more, if bootstrap property {@code
+ * pkl.training.enabled} is {@code true}.
+ *
+ * <p>A training run lets the JVM record the classes needed to load Pkl config files, for example in
+ * an AppCDS archive created with {@code -XX:ArchiveClassesAtExit}. Each Pkl config file loaded by
+ * Spring Boot is evaluated and flattened once more, even if it was loaded from a snapshot or cache,
+ * so that the classes needed to evaluate it are recorded too.
+ *
+ * <p>The application then continues to start. To exit once the application context has been
+ * refreshed, which also records the classes needed to start it, run with Spring's {@code
+ * -Dspring.context.exit=onRefresh}.
+ */
+public class PklTrainingRun implements EnvironmentPostProcessor, Ordered {
+  public static final int ORDER = ConfigDataEnvironmentPostProcessor.ORDER + 1;
+
+  private static final Log logger = LogFactory.getLog(PklTrainingRun.class);
+
+  private final ConfigurableBootstrapContext bootstrapContext;
+
+  public PklTrainingRun(ConfigurableBootstrapContext bootstrapContext) {
+    this.bootstrapContext = bootstrapContext;
+  }
+
+  @Override
+  public void postProcessEnvironment(
+      ConfigurableEnvironment environment, SpringApplication application) {
+    var startup = PklStartup.get(bootstrapContext);
+    var settings = startup.getSettings();
+    if (!settings.isTrainingEnabled()) return;
+    var count = train(environment, startup.getEvaluatorPool(), settings);
+    logger.info("Training run evaluated " + count + " Pkl config file(s).");
+  }
+
+  @Override
+  public int getOrder() {
+    return ORDER;
+  }
+
+  /** Evaluates and flattens the Pkl config files of {@code environment}, returning their number. */
+  static int train(
+      ConfigurableEnvironment environment, PklEvaluatorPool pool, PklSettings settings) {
+    var count = 0;
+    for (var propertySource : environment.getPropertySources()) {
+      var loadInfo = PklLoadInfo.of(propertySource);
+      if (loadInfo == null) continue;
+      try {
+        var moduleSource = PklPropertySourceLoader.toModuleSource(loadInfo.getResource());
+        var module =
+            pool.execute(evaluator -> PklEvaluators.evaluate(settings, evaluator, moduleSource));
+        PklPropertyMap.of(module.getProperties());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      count++;
+    }
+    return count;
+  }
+}
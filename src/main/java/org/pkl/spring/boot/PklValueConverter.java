@@ -0,0 +1,126 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import java.util.Map;
+import java.util.Set;
+import org.pkl.core.DataSize;
+import org.pkl.core.Duration;
+import org.pkl.core.PObject;
+import org.pkl.core.Pair;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.GenericConverter;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.NumberUtils;
+
+/**
+ * Converts Pkl values that Spring doesn't know about to types commonly used for configuration.
+ *
+ * <ul>
+ *   <li>{@link Duration} to {@link java.time.Duration}, to {@link String} in ISO-8601 format, and
+ *       to numbers in milliseconds.
+ *   <li>{@link DataSize} to {@link org.springframework.util.unit.DataSize}, to {@link String} in
+ *       bytes (for example, {@code 1024B}), and to numbers in bytes.
+ *   <li>{@link Pair} to {@link String} by joining its elements with a comma.
+ *   <li>{@link PObject} to {@link Map} of its properties.
+ * </ul>
+ *
+ * <p>The units of strings and numbers are Spring Boot's defaults for durations and data sizes, so
+ * that converted values can be converted back. Results are memoized per source value, so that
+ * reading the same property repeatedly, for example on a request path, converts it only once.
+ *
+ * <p>{@link PklAutoConfiguration} registers this converter with the environment and for binding
+ * {@code @ConfigurationProperties}.
+ */
+public class PklValueConverter implements GenericConverter {
+  private static final Set<ConvertiblePair> convertibleTypes =
+      Set.of(
+          new ConvertiblePair(Duration.class, java.time.Duration.class),
+          new ConvertiblePair(Duration.class, String.class),
+          new ConvertiblePair(Duration.class, Number.class),
+          new ConvertiblePair(DataSize.class, org.springframework.util.unit.DataSize.class),
+          new ConvertiblePair(DataSize.class, String.class),
+          new ConvertiblePair(DataSize.class, Number.class),
+          new ConvertiblePair(Pair.class, String.class),
+          new ConvertiblePair(PObject.class, Map.class));
+
+  // source value -> converted value
+  private final Map<Object, java.time.Duration> durations = new ConcurrentReferenceHashMap<>();
+  private final Map<Object, Long> millis = new ConcurrentReferenceHashMap<>();
+  private final Map<Object, org.springframework.util.unit.DataSize> dataSizes =
+      new ConcurrentReferenceHashMap<>();
+  private final Map<Object, Long> bytes = new ConcurrentReferenceHashMap<>();
+  private final Map<Object, String> strings = new ConcurrentReferenceHashMap<>();
+
+  @Override
+  public Set<ConvertiblePair> getConvertibleTypes() {
+    return convertibleTypes;
+  }
+
+  @Override
+  public @Nullable Object convert(
+      @Nullable Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+    if (source == null) return null;
+    var target = targetType.getObjectType();
+    if (source instanceof PObject object) {
+      return object.getProperties();
+    }
+    if (target == String.class) {
+      return strings.computeIfAbsent(source, this::format);
+    }
+    if (source instanceof Duration duration) {
+      return target == java.time.Duration.class
+          ? toJavaDuration(duration)
+          : toNumber(
+              millis.computeIfAbsent(duration, (key) -> toJavaDuration(duration).toMillis()),
+              target);
+    }
+    var dataSize = (DataSize) source;
+    return target == org.springframework.util.unit.DataSize.class
+        ? toSpringDataSize(dataSize)
+        : toNumber(
+            bytes.computeIfAbsent(dataSize, (key) -> toSpringDataSize(dataSize).toBytes()), target);
+  }
+
+  private String format(Object source) {
+    if (source instanceof Duration duration) {
+      return toJavaDuration(duration).toString();
+    }
+    if (source instanceof DataSize dataSize) {
+      return toSpringDataSize(dataSize).toString();
+    }
+    var pair = (Pair<?, ?>) source;
+    return pair.getFirst() + "," + pair.getSecond();
+  }
+
+  private java.time.Duration toJavaDuration(Duration duration) {
+    return durations.computeIfAbsent(duration, (key) -> duration.toJavaDuration());
+  }
+
+  private org.springframework.util.unit.DataSize toSpringDataSize(DataSize dataSize) {
+    return dataSizes.computeIfAbsent(
+        dataSize,
+        (key) ->
+            org.springframework.util.unit.DataSize.ofBytes(
+                Math.round(dataSize.getValue() * dataSize.getUnit().getBytes())));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Number toNumber(Long value, Class<?> target) {
+    return NumberUtils.convertNumberToTargetClass(value, (Class<? extends Number>) target);
+  }
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.LinkedHashMap;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.test.annotation.DirtiesContext;
+
+/**
+ * Leaves the config class generated from {@code application.pkl} alone after a reload, whereas the
+ * environment returns the new values.
+ */
+@SpringBootTest(classes = {ConfigTestApp.class})
+@DirtiesContext
+public class ConfigReloadTest {
+  @Autowired
+  @SuppressWarnings("unused")
+  private ConfigurableApplicationContext context;
+
+  @Autowired
+  @SuppressWarnings("unused")
+  private AppConfig appConfig;
+
+  @Test
+  public void keepsConfigClass() {
+    var propertySources = context.getEnvironment().getPropertySources();
+    var propertySource =
+        propertySources.stream()
+            .filter(PklMapPropertySource.class::isInstance)
+            .map(PklMapPropertySource.class::cast)
+            .findFirst()
+            .orElseThrow();
+    var properties = new LinkedHashMap<>(propertySource.getSource());
+    properties.put("intProp", 43L);
+    propertySources.replace(
+        propertySource.getName(),
+        new PklMapPropertySource(propertySource.getName(), properties, null, null));
+
+    new PklConfigurationPropertiesRebinder(context)
+        .onApplicationEvent(
+            new PklConfigReloadedEvent(
+                this,
+                propertySource.getName(),
+                new ByteArrayResource(new byte[0]),
+                Set.of("intProp")));
+
+    assertThat(context.getEnvironment().getProperty("intProp", Long.class)).isEqualTo(43L);
+    // bound via constructor, hence immutable until the application is restarted
+    assertThat(context.getBean(AppConfig.class)).isSameAs(appConfig);
+    assertThat(appConfig.getIntProp()).isEqualTo(42L);
+  }
+}
@@ -0,0 +1,61 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+
+/**
+ * Loads config files from the snapshots that the build generates for {@code src/test/snapshot}.
+ * Other test resources have no snapshots and are evaluated.
+ */
+public class ConfigSnapshotTest {
+  @Test
+  public void loadsSnapshotWithoutEvaluating() throws IOException {
+    var environment = new StandardEnvironment();
+    environment
+        .getPropertySources()
+        .addFirst(new MapPropertySource("test", Map.of("pkl.snapshot.enabled", "true")));
+    var settings = new PklSettings(environment);
+    try (var pool =
+        new PklEvaluatorPool(
+            () -> {
+              throw new AssertionError("should not evaluate");
+            },
+            1,
+            Duration.ZERO)) {
+      var propertySource =
+          new PklPropertySourceLoader(pool, settings)
+              .load("application", new ClassPathResource("snapshot/application.pkl"))
+              .get(0);
+      assertThat(PklLoadInfo.of(propertySource).getOrigin()).isEqualTo(PklLoadInfo.Origin.SNAPSHOT);
+      assertThat(propertySource.getProperty("greeting")).isEqualTo("Hello");
+      assertThat(propertySource.getProperty("name")).isEqualTo("Snapshot");
+    }
+  }
+
+  @Test
+  public void doesNotSnapshotOtherTestResources() {
+    assertThat(PklModuleSnapshot.find(new ClassPathResource("application.pkl"))).isNull();
+  }
+}
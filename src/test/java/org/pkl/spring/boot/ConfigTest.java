@@ -75,24 +75,29 @@ public class ConfigTest {
 
   @Test
   public void consumeDurationProperty() {
-    assertThatThrownBy(() -> environment.getRequiredProperty("duration"))
-        .isInstanceOf(ConverterNotFoundException.class);
+    assertThat(environment.getRequiredProperty("duration")).isEqualTo("PT3H");
     assertThat(environment.getRequiredProperty("duration", Duration.class))
         .isEqualTo(new Duration(3, DurationUnit.HOURS));
+    assertThat(environment.getRequiredProperty("duration", java.time.Duration.class))
+        .isEqualTo(java.time.Duration.ofHours(3));
+    assertThat(environment.getRequiredProperty("duration", long.class)).isEqualTo(10_800_000L);
   }
 
   @Test
   public void consumeDataSizeProperty() {
-    assertThatThrownBy(() -> environment.getRequiredProperty("dataSize"))
-        .isInstanceOf(ConverterNotFoundException.class);
+    assertThat(environment.getRequiredProperty("dataSize")).isEqualTo("1230000000B");
     assertThat(environment.getRequiredProperty("dataSize", DataSize.class))
         .isEqualTo(new DataSize(1.23, DataSizeUnit.GIGABYTES));
+    assertThat(
+            environment.getRequiredProperty(
+                "dataSize", org.springframework.util.unit.DataSize.class))
+        .isEqualTo(org.springframework.util.unit.DataSize.ofBytes(1_230_000_000));
+    assertThat(environment.getRequiredProperty("dataSize", int.class)).isEqualTo(1_230_000_000);
   }
 
   @Test
   public void consumePairProperty() {
-    assertThatThrownBy(() -> environment.getRequiredProperty("pair"))
-        .isInstanceOf(ConverterNotFoundException.class);
+    assertThat(environment.getRequiredProperty("pair")).isEqualTo("hello,true");
     assertThat(environment.getRequiredProperty("pair", Pair.class))
         .isEqualTo(new Pair<>("hello", true));
   }
@@ -16,10 +16,13 @@
 package org.pkl.spring.boot;
 
 import org.springframework.boot.SpringApplication;
-import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
-@SpringBootApplication(scanBasePackages = {"org.pkl.spring.boot"})
+// no component scan, so that the library's beans are registered by auto-configuration only
+@SpringBootConfiguration
+@EnableAutoConfiguration
 @EnableConfigurationProperties(AppConfig.class)
 public class ConfigTestApp {
   public static void main(final String... args) {
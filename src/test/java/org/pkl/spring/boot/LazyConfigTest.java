@@ -0,0 +1,40 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+/**
+ * Runs all tests of {@link ConfigTest} against {@link PklPropertySource}s, with config classes
+ * bound through {@link PklConfigurationPropertySource}s.
+ */
+@SpringBootTest(
+    classes = {ConfigTestApp.class},
+    properties = {"pkl.loader.mode=lazy"})
+public class LazyConfigTest extends ConfigTest {
+  @Autowired private ConfigurableEnvironment configurableEnvironment;
+
+  @Test
+  public void usesPklPropertySources() {
+    assertThat(configurableEnvironment.getPropertySources().stream())
+        .anyMatch(PklPropertySource.class::isInstance);
+  }
+}
@@ -0,0 +1,144 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pkl.core.EvaluatorBuilder;
+import org.springframework.aot.generate.ClassNameGenerator;
+import org.springframework.aot.generate.DefaultGenerationContext;
+import org.springframework.aot.generate.GeneratedFiles;
+import org.springframework.aot.generate.InMemoryGeneratedFiles;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.javapoet.ClassName;
+
+public class PklAotProcessorTest {
+  private final StandardEnvironment environment = new StandardEnvironment();
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    try (var pool =
+        new PklEvaluatorPool(() -> EvaluatorBuilder.preconfigured().build(), 1, Duration.ZERO)) {
+      var propertySource =
+          new PklPropertySourceLoader(pool)
+              .load("application", new ClassPathResource("application.pkl"))
+              .get(0);
+      environment.getPropertySources().addFirst(propertySource);
+    }
+  }
+
+  @Test
+  public void generatesPropertiesOfConfigFiles() {
+    var resources = new ArrayList<ClassPathResource>();
+    var propertySources = PklAotProcessor.collect(environment, resources);
+    assertThat(propertySources).containsOnlyKeys("application");
+    assertThat(propertySources.get("application"))
+        .containsEntry("intProp", 42L)
+        .containsEntry("simpleList[1]", "Parrot");
+    assertThat(resources).containsExactly(new ClassPathResource("application.pkl"));
+
+    var source = PklAotProcessor.generate(propertySources).toString();
+    assertThat(source)
+        .contains("public final class PklAotProperties__Generated")
+        .contains("properties.put(\"intProp\", 42L);")
+        .contains("properties.put(\"int32\", -42L);")
+        .contains("properties.put(\"duration\", new Duration(3.0d, DurationUnit.HOURS));")
+        .contains("properties.put(\"pair\", new Pair<>(\"hello\", true));")
+        .contains("properties.put(\"regex\", Pattern.compile(\"regex\", 0));")
+        .contains("properties.put(\"simpleEmptyList\", Collections.emptyList());")
+        .contains("result.put(\"application\", properties);");
+  }
+
+  @Test
+  public void evaluatesConfigFilesOutsideClassPathAtRuntime() {
+    var properties = PklPropertyMap.of(Map.of("port", 8080L));
+    var loadInfo =
+        new PklLoadInfo(
+            new FileSystemResource("application.pkl"),
+            PklLoadInfo.Origin.EVALUATION,
+            Duration.ZERO,
+            Duration.ZERO,
+            properties);
+    environment
+        .getPropertySources()
+        .addFirst(new PklMapPropertySource("file", properties, null, loadInfo));
+
+    assertThat(PklAotProcessor.collect(environment, new ArrayList<>()))
+        .containsOnlyKeys("application");
+  }
+
+  @Test
+  public void evaluatesConfigFilesReadingEnvironmentAtRuntime() {
+    var properties = PklPropertyMap.of(Map.of("home", "/home/builder"));
+    var loadInfo =
+        new PklLoadInfo(
+            new ClassPathResource("aot/env.pkl"),
+            PklLoadInfo.Origin.EVALUATION,
+            Duration.ZERO,
+            Duration.ZERO,
+            properties);
+    environment
+        .getPropertySources()
+        .addFirst(new PklMapPropertySource("env", properties, null, loadInfo));
+
+    var resources = new ArrayList<ClassPathResource>();
+    assertThat(PklAotProcessor.collect(environment, resources)).containsOnlyKeys("application");
+    assertThat(resources).containsExactly(new ClassPathResource("application.pkl"));
+  }
+
+  @Test
+  public void contributesGeneratedClass() {
+    var beanFactory = new DefaultListableBeanFactory();
+    beanFactory.registerSingleton("environment", environment);
+    var contribution = new PklAotProcessor().processAheadOfTime(beanFactory);
+    assertThat(contribution).isNotNull();
+
+    var generatedFiles = new InMemoryGeneratedFiles();
+    var generationContext =
+        new DefaultGenerationContext(
+            new ClassNameGenerator(ClassName.get(PklAotProcessorTest.class)), generatedFiles);
+    // the contribution adds no bean factory initialization code
+    contribution.applyTo(generationContext, null);
+
+    assertThat(
+            generatedFiles.getGeneratedFile(
+                GeneratedFiles.Kind.SOURCE, "org/pkl/spring/boot/PklAotProperties__Generated.java"))
+        .isNotNull();
+    var hints = generationContext.getRuntimeHints();
+    assertThat(
+            RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of(PklAotProperties.GENERATED_CLASS_NAME)))
+        .accepts(hints);
+    assertThat(RuntimeHintsPredicates.resource().forResource("application.pkl")).accepts(hints);
+  }
+
+  @Test
+  public void contributesNothingWithoutPklConfigFiles() {
+    var beanFactory = new DefaultListableBeanFactory();
+    beanFactory.registerSingleton("environment", new StandardEnvironment());
+    assertThat(new PklAotProcessor().processAheadOfTime(beanFactory)).isNull();
+  }
+}
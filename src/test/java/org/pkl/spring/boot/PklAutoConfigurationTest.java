@@ -0,0 +1,51 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+public class PklAutoConfigurationTest {
+  private final ApplicationContextRunner runner =
+      new ApplicationContextRunner()
+          .withConfiguration(AutoConfigurations.of(PklAutoConfiguration.class));
+
+  @Test
+  public void appliesIfPklConfigFilesWereLoaded() {
+    runner
+        .withInitializer(
+            context ->
+                context
+                    .getEnvironment()
+                    .getPropertySources()
+                    .addFirst(new PklMapPropertySource("pkl", Map.of("port", 8080L), null, null)))
+        .run(
+            context -> {
+              assertThat(context).hasSingleBean(PklConfigurationPropertiesBinder.class);
+              assertThat(context).hasSingleBean(PklPropertyResolver.class);
+            });
+  }
+
+  @Test
+  public void doesNotApplyWithoutPklConfigFiles() {
+    runner.run(
+        context -> assertThat(context).doesNotHaveBean(PklConfigurationPropertiesBinder.class));
+  }
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.config.ConfigDataLocationNotFoundException;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+
+public class PklConfigDataTest {
+  @Test
+  public void importsConfigFile() {
+    try (var context = run("pkl:classpath:config-data/app.pkl")) {
+      var environment = context.getEnvironment();
+      assertThat(environment.getProperty("x")).isEqualTo("10");
+      assertThat(environment.getProperty("y")).isEqualTo("2");
+    }
+  }
+
+  @Test
+  public void importsProfileSpecificConfigFile() {
+    try (var context = run("pkl:classpath:config-data/app.pkl", "dev")) {
+      var environment = context.getEnvironment();
+      assertThat(environment.getProperty("x")).isEqualTo("10");
+      assertThat(environment.getProperty("y")).isEqualTo("20");
+      assertThat(environment.getProperty("z")).isEqualTo("3");
+    }
+  }
+
+  @Test
+  public void ignoresMissingOptionalConfigFile() {
+    try (var context = run("optional:pkl:classpath:config-data/missing.pkl")) {
+      assertThat(context.getEnvironment().getProperty("x")).isNull();
+    }
+  }
+
+  @Test
+  public void rejectsMissingConfigFile() {
+    assertThatThrownBy(() -> run("pkl:classpath:config-data/missing.pkl"))
+        .isInstanceOf(ConfigDataLocationNotFoundException.class);
+  }
+
+  private static ConfigurableApplicationContext run(String location, String... profiles) {
+    return new SpringApplicationBuilder(EmptyConfig.class)
+        .web(WebApplicationType.NONE)
+        .profiles(profiles)
+        .run("--spring.config.import=" + location);
+  }
+
+  @Configuration(proxyBeanMethods = false)
+  static class EmptyConfig {}
+}
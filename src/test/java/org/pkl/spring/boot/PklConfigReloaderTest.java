@@ -0,0 +1,121 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.pkl.core.*;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.FileSystemResource;
+
+public class PklConfigReloaderTest {
+  @TempDir private Path tempDir;
+
+  private final StandardEnvironment environment = new StandardEnvironment();
+  private final BlockingQueue<PklConfigReloadedEvent> events = new LinkedBlockingQueue<>();
+  private PklConfigReloader reloader;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    Files.writeString(tempDir.resolve("base.pkl"), "x = 1\ny = 2");
+    var configFile = tempDir.resolve("application.pkl");
+    Files.writeString(configFile, "amends \"base.pkl\"\nx = 42");
+    try (var pool =
+        new PklEvaluatorPool(() -> EvaluatorBuilder.preconfigured().build(), 1, Duration.ZERO)) {
+      var propertySource =
+          new PklPropertySourceLoader(pool)
+              .load("application", new FileSystemResource(configFile))
+              .get(0);
+      environment.getPropertySources().addFirst(propertySource);
+    }
+    reloader =
+        new PklConfigReloader(
+            environment,
+            (event) -> events.add((PklConfigReloadedEvent) event),
+            Duration.ofMillis(50),
+            new PklSettings(environment));
+    reloader.start();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    reloader.stop();
+  }
+
+  @Test
+  public void reloadsIfImportedModuleChanges() throws Exception {
+    Files.writeString(tempDir.resolve("base.pkl"), "x = 1\ny = 3");
+    var event = events.poll(30, TimeUnit.SECONDS);
+    assertThat(event).isNotNull();
+    assertThat(event.getPropertySourceName()).isEqualTo("application");
+    assertThat(event.getChangedKeys()).containsExactly("y");
+    assertThat(environment.getProperty("x")).isEqualTo("42");
+    assertThat(environment.getProperty("y")).isEqualTo("3");
+  }
+
+  @Test
+  public void keepsPreviousConfigurationIfReloadFails() throws Exception {
+    Files.writeString(tempDir.resolve("application.pkl"), "amends \"base.pkl\"\nx = ");
+    Files.writeString(tempDir.resolve("base.pkl"), "x = 1\ny = 2");
+    assertThat(events.poll(2, TimeUnit.SECONDS)).isNull();
+    assertThat(environment.getProperty("x")).isEqualTo("42");
+
+    Files.writeString(tempDir.resolve("application.pkl"), "amends \"base.pkl\"\nx = 43");
+    var event = events.poll(30, TimeUnit.SECONDS);
+    assertThat(event).isNotNull();
+    assertThat(event.getChangedKeys()).containsExactly("x");
+  }
+
+  @Test
+  public void stopsWatchingDirectoriesNoLongerDependedOn() throws Exception {
+    var lib = Files.createDirectory(tempDir.resolve("lib"));
+    Files.writeString(lib.resolve("other.pkl"), "x = 7");
+    Files.writeString(
+        tempDir.resolve("application.pkl"),
+        "amends \"base.pkl\"\n\nimport \"lib/other.pkl\"\n\nx = other.x");
+    assertThat(events.poll(30, TimeUnit.SECONDS)).isNotNull();
+    assertThat(reloader.getWatchedDirectories()).contains(lib.toAbsolutePath());
+
+    Files.writeString(tempDir.resolve("application.pkl"), "amends \"base.pkl\"\nx = 42");
+    assertThat(events.poll(30, TimeUnit.SECONDS)).isNotNull();
+    assertThat(reloader.getWatchedDirectories()).doesNotContain(lib.toAbsolutePath()).hasSize(1);
+
+    reloader.stop();
+    assertThat(reloader.getWatchedDirectories()).isEmpty();
+  }
+
+  @Test
+  public void computesChangedKeys() {
+    try (var evaluator = Evaluator.preconfigured()) {
+      var previous =
+          new PklPropertySource("previous", evaluator.evaluate(ModuleSource.text("a = 1\nb = 2")));
+      var current =
+          new PklPropertySource("current", evaluator.evaluate(ModuleSource.text("a = 1\nc = 3")));
+      assertThat(PklConfigReloader.getChangedKeys(previous, current)).containsExactly("b", "c");
+    }
+  }
+}
@@ -0,0 +1,143 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.boot.context.properties.BoundConfigurationProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.BindException;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.lang.Nullable;
+
+public class PklConfigurationPropertiesBinderTest {
+  private final AnnotationConfigApplicationContext context =
+      new AnnotationConfigApplicationContext();
+
+  @BeforeEach
+  public void setUp() {
+    context
+        .getEnvironment()
+        .getPropertySources()
+        .addLast(
+            new MapPropertySource(
+                "application", Map.of("client.timeout", 5, "pkl.binding.mode", "binder")));
+  }
+
+  @AfterEach
+  public void tearDown() {
+    context.close();
+  }
+
+  @Test
+  public void bindsValueObjects() {
+    refresh(Map.of("server.port", 8080L));
+
+    assertThat(context.getBean(ServerRecord.class).port()).isEqualTo(8080);
+    assertThat(context.getBean(ClientRecord.class).timeout()).isEqualTo(5);
+  }
+
+  @Test
+  public void leavesBindingToSpringBootByDefault() {
+    context
+        .getEnvironment()
+        .getPropertySources()
+        .addFirst(new MapPropertySource("default", Map.of("pkl.binding.mode", "default")));
+    refresh(Map.of("server.port", 8080L));
+
+    assertThat(context.getBean(ServerRecord.class).port()).isEqualTo(8080);
+    // recorded by Spring Boot's binder only
+    var bound = BoundConfigurationProperties.get(context);
+    assertThat(bound).isNotNull();
+    var port = bound.get(ConfigurationPropertyName.of("server.port"));
+    assertThat(port).isNotNull();
+    assertThat(port.getOrigin()).hasToString("class path resource [application.pkl]");
+  }
+
+  @Test
+  public void bindsWithPklAdapterIfEnabled() {
+    refresh(Map.of("server.port", 8080L));
+
+    var bound = BoundConfigurationProperties.get(context);
+    assertThat(bound).isNotNull();
+    // not recorded, because Spring Boot offers no public way to do so
+    assertThat(bound.get(ConfigurationPropertyName.of("server.port"))).isNull();
+  }
+
+  @Test
+  public void reportsOriginOfInvalidValue() {
+    var failure =
+        catchThrowableOfType(
+            BeanCreationException.class, () -> refresh(Map.of("server.port", "eighty")));
+    var bindException = findCause(failure, BindException.class);
+    assertThat(bindException).isNotNull();
+    var property = bindException.getProperty();
+    assertThat(property).isNotNull();
+    assertThat(property.getOrigin()).hasToString("class path resource [application.pkl]");
+  }
+
+  private void refresh(Map<String, Object> pklProperties) {
+    var properties = PklPropertyMap.of(pklProperties);
+    var loadInfo =
+        new PklLoadInfo(
+            new ClassPathResource("application.pkl"),
+            PklLoadInfo.Origin.EVALUATION,
+            Duration.ZERO,
+            Duration.ZERO,
+            properties);
+    context
+        .getEnvironment()
+        .getPropertySources()
+        .addFirst(new PklMapPropertySource("application.pkl", properties, null, loadInfo));
+    context.register(TestConfiguration.class);
+    context.refresh();
+  }
+
+  private static <T extends Throwable> @Nullable T findCause(
+      @Nullable Throwable throwable, Class<T> type) {
+    for (var cause = throwable; cause != null; cause = cause.getCause()) {
+      if (type.isInstance(cause)) return type.cast(cause);
+    }
+    return null;
+  }
+
+  @ConfigurationProperties("server")
+  public record ServerRecord(int port) {}
+
+  @ConfigurationProperties("client")
+  public record ClientRecord(int timeout) {}
+
+  @Configuration(proxyBeanMethods = false)
+  @EnableConfigurationProperties({ServerRecord.class, ClientRecord.class})
+  static class TestConfiguration {
+    @Bean
+    static PklConfigurationPropertiesBinder pklConfigurationPropertiesBinder() {
+      return new PklConfigurationPropertiesBinder();
+    }
+  }
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.io.ByteArrayResource;
+
+public class PklConfigurationPropertiesRebinderTest {
+  private final Map<String, Object> properties = new HashMap<>();
+  private final AnnotationConfigApplicationContext context =
+      new AnnotationConfigApplicationContext();
+
+  @BeforeEach
+  public void setUp() {
+    properties.putAll(Map.of("server.port", 80, "client.timeout", 5));
+    context
+        .getEnvironment()
+        .getPropertySources()
+        .addFirst(new MapPropertySource("application", properties));
+    context.register(TestConfiguration.class);
+    context.refresh();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    context.close();
+  }
+
+  @Test
+  public void rebindsOnlyAffectedBeans() {
+    var server = context.getBean(ServerProperties.class);
+    var client = context.getBean(ClientProperties.class);
+    var serverRecord = context.getBean(ServerRecord.class);
+    properties.putAll(Map.of("server.port", 8080, "client.timeout", 10));
+
+    new PklConfigurationPropertiesRebinder(context)
+        .onApplicationEvent(
+            new PklConfigReloadedEvent(
+                this, "application", new ByteArrayResource(new byte[0]), Set.of("server.port")));
+
+    assertThat(server.getPort()).isEqualTo(8080);
+    // not affected by the change
+    assertThat(client.getTimeout()).isEqualTo(5);
+    // bound via constructor, hence left alone
+    assertThat(context.getBean(ServerRecord.class)).isSameAs(serverRecord);
+    assertThat(serverRecord.port()).isEqualTo(80);
+  }
+
+  @Test
+  public void determinesAffectedPrefixes() {
+    var changed =
+        List.of(ConfigurationPropertyName.of("server.port"), ConfigurationPropertyName.of("cache"));
+    assertThat(isAffected("server", changed)).isTrue();
+    assertThat(isAffected("server.port", changed)).isTrue();
+    assertThat(isAffected("cache.redis", changed)).isTrue();
+    assertThat(isAffected("", changed)).isTrue();
+    assertThat(isAffected("server.ssl", changed)).isFalse();
+    assertThat(isAffected("client", changed)).isFalse();
+  }
+
+  private static boolean isAffected(String prefix, List<ConfigurationPropertyName> changed) {
+    return PklConfigurationPropertiesRebinder.isAffected(
+        ConfigurationPropertyName.of(prefix), changed);
+  }
+
+  @Configuration(proxyBeanMethods = false)
+  @EnableConfigurationProperties({
+    ServerProperties.class,
+    ClientProperties.class,
+    ServerRecord.class
+  })
+  static class TestConfiguration {}
+
+  @ConfigurationProperties("server")
+  public static class ServerProperties {
+    private int port;
+
+    public int getPort() {
+      return port;
+    }
+
+    public void setPort(int port) {
+      this.port = port;
+    }
+  }
+
+  @ConfigurationProperties("client")
+  public static class ClientProperties {
+    private int timeout;
+
+    public int getTimeout() {
+      return timeout;
+    }
+
+    public void setTimeout(int timeout) {
+      this.timeout = timeout;
+    }
+  }
+
+  @ConfigurationProperties("server")
+  public record ServerRecord(int port) {}
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pkl.core.EvaluatorBuilder;
+import org.springframework.boot.origin.OriginLookup;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+
+public class PklEndpointTest {
+  private final StandardEnvironment environment = new StandardEnvironment();
+  private final PklEndpoint endpoint = new PklEndpoint(environment);
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    try (var pool =
+        new PklEvaluatorPool(() -> EvaluatorBuilder.preconfigured().build(), 1, Duration.ZERO)) {
+      var propertySource =
+          new PklPropertySourceLoader(pool)
+              .load("application", new ClassPathResource("application.pkl"))
+              .get(0);
+      environment.getPropertySources().addFirst(propertySource);
+    }
+  }
+
+  @Test
+  public void describesPropertySources() {
+    var propertySources = endpoint.pkl().propertySources();
+    assertThat(propertySources).hasSize(1);
+    var propertySource = propertySources.get(0);
+    assertThat(propertySource.name()).isEqualTo("application");
+    assertThat(propertySource.resource()).isEqualTo("class path resource [application.pkl]");
+    assertThat(propertySource.origin()).isNotNull();
+    assertThat(propertySource.propertyCount()).isPositive();
+    assertThat(propertySource.estimatedSize()).isPositive();
+  }
+
+  @Test
+  public void describesPropertyOrigin() {
+    var property = endpoint.pklProperty("intProp");
+    assertThat(property).isNotNull();
+    assertThat(property.propertySources())
+        .singleElement()
+        .satisfies(
+            (source) -> {
+              assertThat(source.name()).isEqualTo("application");
+              assertThat(source.origin()).contains("application.pkl");
+            });
+    assertThat(endpoint.pklProperty("noSuchProperty")).isNull();
+  }
+
+  @Test
+  public void reportsOriginOfProperties() {
+    var propertySource = environment.getPropertySources().get("application");
+    assertThat(OriginLookup.getOrigin(propertySource, "intProp")).isNotNull();
+    assertThat(OriginLookup.getOrigin(propertySource, "noSuchProperty")).isNull();
+  }
+}
@@ -0,0 +1,135 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.pkl.core.*;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+public class PklEvaluationCacheTest {
+  @TempDir private Path tempDir;
+
+  private final AtomicInteger evaluations = new AtomicInteger();
+  private Path module;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    Files.writeString(tempDir.resolve("base.pkl"), "x = 1\ny = read(\"data.txt\").text");
+    Files.writeString(tempDir.resolve("data.txt"), "hello");
+    module = tempDir.resolve("application.pkl");
+    Files.writeString(module, "amends \"base.pkl\"\nx = 2");
+  }
+
+  private static PklSettings settings(Map<String, Object> properties) {
+    var environment = new StandardEnvironment();
+    environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+    return new PklSettings(environment);
+  }
+
+  private PModule evaluate() throws IOException {
+    return evaluate(settings(Map.of()));
+  }
+
+  private PModule evaluate(PklSettings settings) throws IOException {
+    var cache = new PklEvaluationCache(tempDir.resolve("cache"), settings);
+    try (var evaluator = EvaluatorBuilder.preconfigured().build()) {
+      return cache.evaluate(
+          module.toUri(),
+          Files.readString(module),
+          () -> {
+            evaluations.incrementAndGet();
+            return evaluator.evaluate(ModuleSource.path(module));
+          });
+    }
+  }
+
+  @Test
+  public void reusesCachedResult() throws IOException {
+    var first = evaluate();
+    var second = evaluate();
+    assertThat(evaluations).hasValue(1);
+    assertThat(second).isEqualTo(first);
+    assertThat(second.getProperty("y")).isEqualTo("hello");
+  }
+
+  @Test
+  public void reevaluatesIfModuleChanges() throws IOException {
+    evaluate();
+    Files.writeString(module, "amends \"base.pkl\"\nx = 3");
+    assertThat(evaluate().getProperty("x")).isEqualTo(3L);
+    assertThat(evaluations).hasValue(2);
+  }
+
+  @Test
+  public void reevaluatesIfImportedModuleChanges() throws IOException {
+    evaluate();
+    Files.writeString(tempDir.resolve("base.pkl"), "x = 1\ny = \"changed\"");
+    assertThat(evaluate().getProperty("y")).isEqualTo("changed");
+    assertThat(evaluations).hasValue(2);
+  }
+
+  @Test
+  public void reevaluatesIfResourceChanges() throws IOException {
+    evaluate();
+    Files.writeString(tempDir.resolve("data.txt"), "changed");
+    assertThat(evaluate().getProperty("y")).isEqualTo("changed");
+    assertThat(evaluations).hasValue(2);
+  }
+
+  @Test
+  public void reevaluatesIfEvaluatorSettingsDiffer() throws IOException {
+    evaluate();
+    evaluate(settings(Map.of("pkl.evaluator.timeout", "10s")));
+    assertThat(evaluations).hasValue(2);
+  }
+
+  @Test
+  public void doesNotCacheModulesReadingEnvironment() throws IOException {
+    Files.writeString(module, "amends \"base.pkl\"\nx = 2\nz = read?(\"env:SECRET\")");
+    evaluate();
+    evaluate();
+    assertThat(evaluations).hasValue(2);
+    assertThat(tempDir.resolve("cache")).doesNotExist();
+  }
+
+  @Test
+  public void doesNotCacheModulesWithDynamicDependencies() throws IOException {
+    Files.writeString(module, "files = import*(\"*.pkl\")");
+    evaluate();
+    evaluate();
+    assertThat(evaluations).hasValue(2);
+  }
+
+  @Test
+  public void ignoresCorruptEntries() throws IOException {
+    evaluate();
+    try (var entries = Files.list(tempDir.resolve("cache"))) {
+      for (var entry : entries.toList()) Files.writeString(entry, "corrupt");
+    }
+    assertThat(evaluate().getProperty("x")).isEqualTo(2L);
+    assertThat(evaluations).hasValue(2);
+  }
+}
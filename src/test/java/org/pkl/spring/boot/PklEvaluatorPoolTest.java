@@ -0,0 +1,77 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.pkl.core.*;
+
+public class PklEvaluatorPoolTest {
+  private final AtomicInteger created = new AtomicInteger();
+
+  private PklEvaluatorPool createPool(Duration idleTimeout) {
+    return new PklEvaluatorPool(
+        () -> {
+          created.incrementAndGet();
+          return EvaluatorBuilder.preconfigured().build();
+        },
+        2,
+        idleTimeout);
+  }
+
+  @Test
+  public void reusesEvaluators() {
+    try (var pool = createPool(Duration.ofMinutes(1))) {
+      var first = pool.execute(evaluator -> evaluator);
+      var second = pool.execute(evaluator -> evaluator);
+      assertThat(second).isSameAs(first);
+      assertThat(created).hasValue(1);
+    }
+  }
+
+  @Test
+  public void doesNotReuseEvaluatorsIfIdleTimeoutIsZero() {
+    try (var pool = createPool(Duration.ZERO)) {
+      pool.execute(evaluator -> evaluator.evaluate(ModuleSource.text("x = 1")));
+      pool.execute(evaluator -> evaluator.evaluate(ModuleSource.text("x = 1")));
+      assertThat(created).hasValue(2);
+    }
+  }
+
+  @Test
+  public void discardsEvaluatorAfterFailure() {
+    try (var pool = createPool(Duration.ofMinutes(1))) {
+      assertThatThrownBy(
+              () ->
+                  pool.execute(
+                      evaluator -> evaluator.evaluate(ModuleSource.text("x = throw(\"oops\")"))))
+          .isInstanceOf(PklException.class);
+      pool.execute(evaluator -> evaluator.evaluate(ModuleSource.text("x = 1")));
+      assertThat(created).hasValue(2);
+    }
+  }
+
+  @Test
+  public void evaluatesModules() {
+    try (var pool = createPool(Duration.ofMinutes(1))) {
+      var module = pool.execute(evaluator -> evaluator.evaluate(ModuleSource.text("x = 42")));
+      assertThat(module.getProperty("x")).isEqualTo(42L);
+    }
+  }
+}
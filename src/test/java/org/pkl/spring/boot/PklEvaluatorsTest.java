@@ -0,0 +1,123 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.pkl.core.ModuleSource;
+import org.pkl.core.PklException;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.FileSystemResource;
+
+public class PklEvaluatorsTest {
+  @TempDir private Path tempDir;
+
+  private PklSettings settings = new PklSettings(new StandardEnvironment());
+
+  @Test
+  public void abortsEvaluationAfterTimeout() throws IOException {
+    configure(Map.of("pkl.evaluator.timeout", "1s"));
+    var configFile = tempDir.resolve("application.pkl");
+    Files.writeString(configFile, "x = IntSeq(0, 1000000000).fold(0, (sum, n) -> sum + n)");
+    var startTime = System.nanoTime();
+    assertThatThrownBy(() -> load(configFile))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("Timed out after PT1S")
+        .hasMessageContaining(configFile.toUri().toString())
+        .hasCauseInstanceOf(PklException.class);
+    assertThat(Duration.ofNanos(System.nanoTime() - startTime)).isLessThan(Duration.ofSeconds(30));
+  }
+
+  @Test
+  public void restrictsResources() throws IOException {
+    configure(Map.of("pkl.evaluator.allowed-resources", "prop:"));
+    var configFile = tempDir.resolve("application.pkl");
+    Files.writeString(configFile, "x = read(\"env:PATH\")");
+    assertThatThrownBy(() -> load(configFile)).isInstanceOf(PklException.class);
+  }
+
+  @Test
+  public void addsExternalProperties() throws IOException {
+    configure(Map.of("pkl.evaluator.external-properties.greeting", "hello"));
+    var configFile = tempDir.resolve("application.pkl");
+    Files.writeString(configFile, "x = read(\"prop:greeting\")");
+    assertThat(load(configFile).getProperty("x")).isEqualTo("hello");
+  }
+
+  @Test
+  public void configuresEngineForStartup() throws IOException {
+    var option = "polyglot.engine.Compilation";
+    configure(Map.of("pkl.evaluator.engine-mode", "startup"));
+    // an evaluator created by an earlier test in this JVM already created the engine
+    var engineCreated = PklEvaluators.isEngineCreated();
+    var optionWhileBuilding = new AtomicReference<String>();
+    try (var evaluator =
+        PklEvaluators.build(
+            settings,
+            () -> {
+              optionWhileBuilding.set(System.getProperty(option));
+              return PklEvaluators.newBuilder(settings).build();
+            })) {
+      assertThat(evaluator.evaluate(ModuleSource.text("x = 1")).getProperty("x")).isEqualTo(1L);
+    }
+    // set for Pkl's engine only while it is created
+    assertThat(optionWhileBuilding.get()).isEqualTo(engineCreated ? null : "false");
+    assertThat(System.getProperty(option)).isNull();
+    assertThat(PklEvaluators.isEngineCreated()).isTrue();
+
+    var configFile = tempDir.resolve("application.pkl");
+    Files.writeString(configFile, "x = List(1, 2, 3).fold(0, (sum, n) -> sum + n)");
+    assertThat(load(configFile).getProperty("x")).isEqualTo(6L);
+    assertThat(System.getProperty(option)).isNull();
+  }
+
+  @Test
+  public void excludesEngineOptionsFromExternalProperties() {
+    var option = "polyglot.engine.Compilation";
+    System.setProperty(option, "false");
+    try {
+      assertThat(PklPropertySourceLoader.getSystemProperties())
+          .doesNotContainKey(option)
+          .containsKey("java.version");
+    } finally {
+      System.clearProperty(option);
+    }
+  }
+
+  private PropertySource<?> load(Path configFile) throws IOException {
+    try (var pool = new PklEvaluatorPool(() -> PklEvaluators.create(settings), 1, Duration.ZERO)) {
+      return new PklPropertySourceLoader(pool, settings)
+          .load("application", new FileSystemResource(configFile))
+          .get(0);
+    }
+  }
+
+  private void configure(Map<String, Object> properties) {
+    var environment = new StandardEnvironment();
+    environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+    settings = new PklSettings(environment);
+  }
+}
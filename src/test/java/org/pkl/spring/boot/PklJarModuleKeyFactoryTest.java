@@ -0,0 +1,114 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.pkl.core.ModuleSource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.UrlResource;
+
+public class PklJarModuleKeyFactoryTest {
+  @TempDir private Path tempDir;
+
+  private URI applicationUri;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    var jar = tempDir.resolve("app.jar");
+    try (var output = new JarOutputStream(Files.newOutputStream(jar))) {
+      for (var entry :
+          Map.of(
+                  "config/application.pkl",
+                  "import \"schema/server.pkl\"\napp: server.Server = new { port = 8080 }\n",
+                  "config/schema/server.pkl",
+                  "class Server { port: Int }\n")
+              .entrySet()) {
+        output.putNextEntry(new JarEntry(entry.getKey()));
+        output.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+        output.closeEntry();
+      }
+    }
+    applicationUri = URI.create("jar:" + jar.toUri() + "!/config/application.pkl");
+  }
+
+  @AfterEach
+  public void tearDown() {
+    PklJarModuleKeyFactory.clear();
+  }
+
+  @Test
+  public void resolvesRelativeImportsInJars() {
+    var settings = new PklSettings(new StandardEnvironment());
+    try (var evaluator = PklEvaluators.newBuilder(settings).build()) {
+      var module = evaluator.evaluate(ModuleSource.uri(applicationUri));
+      assertThat(module.getProperties()).containsKey("app");
+    }
+    var schemaUri =
+        URI.create(applicationUri.toString().replace("application.pkl", "schema/server.pkl"));
+    assertThat(PklJarModuleKeyFactory.read(schemaUri)).isNotNull();
+    assertThat(PklJarModuleKeyFactory.INSTANCE.create(schemaUri)).isPresent();
+  }
+
+  @Test
+  public void readsEachModuleOnce() throws IOException {
+    var contents = PklJarModuleKeyFactory.read(applicationUri);
+    assertThat(contents).isNotNull();
+    assertThat(PklJarModuleKeyFactory.read(applicationUri)).isSameAs(contents);
+    assertThat(PklJarModuleKeyFactory.read(URI.create(applicationUri + ".missing"))).isNull();
+  }
+
+  @Test
+  public void closesFileSystemsItOpens() throws IOException {
+    assertThat(PklJarModuleKeyFactory.read(applicationUri)).isNotNull();
+    assertThatExceptionOfType(FileSystemNotFoundException.class)
+        .isThrownBy(() -> FileSystems.getFileSystem(applicationUri));
+  }
+
+  @Test
+  public void loadsConfigFilesFromJars() throws IOException {
+    var settings = new PklSettings(new StandardEnvironment());
+    try (var pool = new PklEvaluatorPool(() -> PklEvaluators.create(settings), 1, Duration.ZERO)) {
+      var propertySource =
+          new PklPropertySourceLoader(pool)
+              .load("application", new UrlResource(applicationUri))
+              .get(0);
+      assertThat(propertySource.getProperty("app.port")).isEqualTo(8080L);
+    }
+  }
+
+  @Test
+  public void ignoresOtherUris() {
+    assertThat(PklJarModuleKeyFactory.INSTANCE.create(URI.create("file:/application.pkl")))
+        .isEmpty();
+    assertThat(PklJarModuleKeyFactory.INSTANCE.create(URI.create("jar:file:/app.jar"))).isEmpty();
+  }
+}
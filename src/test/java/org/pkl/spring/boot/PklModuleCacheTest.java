@@ -0,0 +1,121 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.pkl.core.EvaluatorBuilder;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.FileSystemResource;
+
+public class PklModuleCacheTest {
+  @TempDir private Path tempDir;
+
+  private Path configFile;
+  private PklSettings settings = settings(Map.of());
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    PklModuleCache.shared().clear();
+    Files.writeString(tempDir.resolve("base.pkl"), "x = 1\ny = 2");
+    configFile = tempDir.resolve("application.pkl");
+    Files.writeString(configFile, "amends \"base.pkl\"\nx = 42");
+  }
+
+  @AfterEach
+  public void tearDown() {
+    PklModuleCache.shared().clear();
+  }
+
+  @Test
+  public void sharesModulesAcrossLoaders() throws IOException {
+    var first = load();
+    var second = load();
+    assertThat(first.getOrigin()).isEqualTo(PklLoadInfo.Origin.EVALUATION);
+    assertThat(second.getOrigin()).isEqualTo(PklLoadInfo.Origin.SHARED_CACHE_HIT);
+  }
+
+  @Test
+  public void missesIfImportedModuleChanges() throws IOException {
+    load();
+    Files.writeString(tempDir.resolve("base.pkl"), "x = 1\ny = 3");
+    assertThat(load().getOrigin()).isEqualTo(PklLoadInfo.Origin.EVALUATION);
+    assertThat(PklModuleCache.shared().size()).isEqualTo(2);
+  }
+
+  @Test
+  public void missesIfEvaluatorIsRestricted() throws IOException {
+    load();
+    configure(Map.of("pkl.evaluator.allowed-modules", "pkl:,file:"));
+    assertThat(load().getOrigin()).isEqualTo(PklLoadInfo.Origin.EVALUATION);
+    assertThat(load().getOrigin()).isEqualTo(PklLoadInfo.Origin.SHARED_CACHE_HIT);
+    configure(Map.of("pkl.evaluator.allowed-resources", "file:"));
+    assertThat(load().getOrigin()).isEqualTo(PklLoadInfo.Origin.EVALUATION);
+  }
+
+  @Test
+  public void evictsLeastRecentlyUsedModules() throws IOException {
+    configure(Map.of("pkl.module-cache.max-entries", "1"));
+    load();
+    Files.writeString(configFile, "amends \"base.pkl\"\nx = 43");
+    load();
+    assertThat(PklModuleCache.shared().size()).isEqualTo(1);
+    Files.writeString(configFile, "amends \"base.pkl\"\nx = 42");
+    assertThat(load().getOrigin()).isEqualTo(PklLoadInfo.Origin.EVALUATION);
+  }
+
+  @Test
+  public void isDisabledByDefault() throws IOException {
+    settings = new PklSettings(new StandardEnvironment());
+    load();
+    assertThat(load().getOrigin()).isEqualTo(PklLoadInfo.Origin.EVALUATION);
+    assertThat(PklModuleCache.shared().size()).isZero();
+  }
+
+  private PklLoadInfo load() throws IOException {
+    try (var pool =
+        new PklEvaluatorPool(() -> EvaluatorBuilder.preconfigured().build(), 1, Duration.ZERO)) {
+      var propertySource =
+          new PklPropertySourceLoader(pool, settings)
+              .load("application", new FileSystemResource(configFile))
+              .get(0);
+      return PklLoadInfo.of(propertySource);
+    }
+  }
+
+  private void configure(Map<String, Object> properties) {
+    settings = settings(properties);
+  }
+
+  private static PklSettings settings(Map<String, Object> properties) {
+    var environment = new StandardEnvironment();
+    environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+    environment
+        .getPropertySources()
+        .addLast(new MapPropertySource("enabled", Map.of("pkl.module-cache.enabled", "true")));
+    return new PklSettings(environment);
+  }
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.pkl.core.*;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.mock.env.MockEnvironment;
+
+public class PklModulePrefetcherTest {
+  @TempDir private Path tempDir;
+
+  private final AtomicInteger evaluations = new AtomicInteger();
+
+  @Nullable private PklModulePrefetcher prefetcher;
+
+  @AfterEach
+  public void tearDown() {
+    if (prefetcher != null) prefetcher.cancel();
+  }
+
+  private PklPropertySourceLoader.LoadedModule evaluate(Resource resource) throws IOException {
+    evaluations.incrementAndGet();
+    try (var evaluator = EvaluatorBuilder.preconfigured().build()) {
+      var module = evaluator.evaluate(ModuleSource.file(resource.getFile()));
+      return new PklPropertySourceLoader.LoadedModule(
+          module, PklLoadInfo.Origin.EVALUATION, Duration.ZERO);
+    }
+  }
+
+  @Test
+  public void findsConfigFilesForActiveProfiles() throws IOException {
+    for (var name : List.of("application", "application-dev", "application-prod", "other")) {
+      Files.writeString(tempDir.resolve(name + ".pkl"), "x = 1");
+    }
+    var environment =
+        new MockEnvironment()
+            .withProperty("spring.config.location", "optional:file:" + tempDir + "/");
+    environment.setActiveProfiles("dev");
+    var configFiles = PklModulePrefetcher.findConfigFiles(environment, new DefaultResourceLoader());
+    assertThat(configFiles)
+        .extracting(Resource::getFilename)
+        .containsExactly("application.pkl", "application-dev.pkl");
+  }
+
+  @Test
+  public void hasModuleReadyWhenAskedFor() throws IOException {
+    var first = new FileSystemResource(tempDir.resolve("application.pkl"));
+    var second = new FileSystemResource(tempDir.resolve("application-dev.pkl"));
+    Files.writeString(first.getFile().toPath(), "x = 1");
+    Files.writeString(second.getFile().toPath(), "x = 2");
+    var prefetcher = PklModulePrefetcher.start(List.of(first, second), this::evaluate, 2);
+    this.prefetcher = prefetcher;
+
+    assertThat(prefetcher.take(second).module().getProperty("x")).isEqualTo(2L);
+    assertThat(prefetcher.take(first).module().getProperty("x")).isEqualTo(1L);
+    assertThat(prefetcher.take(first)).isNull();
+    assertThat(evaluations).hasValue(2);
+  }
+
+  @Test
+  public void reportsEvaluationErrorWhenAskedFor() throws IOException {
+    var resource = new FileSystemResource(tempDir.resolve("application.pkl"));
+    Files.writeString(resource.getFile().toPath(), "x = throw(\"oops\")");
+    var prefetcher = PklModulePrefetcher.start(List.of(resource), this::evaluate, 1);
+    this.prefetcher = prefetcher;
+
+    assertThatThrownBy(() -> prefetcher.take(resource))
+        .isInstanceOf(PklException.class)
+        .hasMessageContaining("oops");
+  }
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.pkl.spring.boot.PklModuleScanner.Dependency;
+import org.pkl.spring.boot.PklModuleScanner.DependencyKind;
+
+public class PklModuleScannerTest {
+  @Test
+  public void findsModuleDependencies() {
+    var text =
+        """
+        amends "base.pkl"
+        import "modulepath:/schema.pkl"
+        import "pkl:math" as m
+        local lib = import("lib.pkl")
+        class Foo extends Bar {}
+        """;
+    assertThat(PklModuleScanner.scan(text))
+        .containsExactly(
+            new Dependency(DependencyKind.MODULE, "base.pkl"),
+            new Dependency(DependencyKind.MODULE, "modulepath:/schema.pkl"),
+            new Dependency(DependencyKind.MODULE, "pkl:math"),
+            new Dependency(DependencyKind.MODULE, "lib.pkl"));
+  }
+
+  @Test
+  public void findsResourceDependencies() {
+    var text =
+        """
+        a = read("env:HOME")
+        b = read?(#"prop:my.prop"#)
+        """;
+    assertThat(PklModuleScanner.scan(text))
+        .containsExactly(
+            new Dependency(DependencyKind.RESOURCE, "env:HOME"),
+            new Dependency(DependencyKind.RESOURCE, "prop:my.prop"));
+  }
+
+  @Test
+  public void ignoresCommentsAndStrings() {
+    var text =
+        """
+        // import "a.pkl"
+        /* read("env:A") */
+        /// Docs that mention import and read.
+        a = "import \\"b.pkl\\""
+        b = \"""
+          read("env:B")
+          \"""
+        `read` = 1
+        """;
+    assertThat(PklModuleScanner.scan(text)).isEmpty();
+  }
+
+  @Test
+  public void rejectsDynamicDependencies() {
+    assertThat(PklModuleScanner.scan("a = import*(\"*.pkl\")")).isNull();
+    assertThat(PklModuleScanner.scan("a = read*(\"env:*\")")).isNull();
+    assertThat(PklModuleScanner.scan("a = read(\"env:\" + name)")).isNull();
+    assertThat(PklModuleScanner.scan("a = read(\"env:\\(name)\")")).isNull();
+    assertThat(PklModuleScanner.scan("a = read(name)")).isNull();
+  }
+}
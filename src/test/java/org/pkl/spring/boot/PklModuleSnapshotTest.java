@@ -0,0 +1,141 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.pkl.core.*;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.FileSystemResource;
+
+public class PklModuleSnapshotTest {
+  @TempDir private Path resourcesDir;
+  @TempDir private Path outputDir;
+
+  private Path configFile;
+  private final PklSettings settings = settings(Map.of("pkl.snapshot.enabled", "true"));
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    Files.writeString(resourcesDir.resolve("base.pkl"), "x = 1\ny = 2");
+    configFile = resourcesDir.resolve("application.pkl");
+    Files.writeString(configFile, "amends \"base.pkl\"\nx = 42");
+  }
+
+  private PropertySource<?> load(PklEvaluatorPool pool, PklSettings settings) throws IOException {
+    // load from the output directory, as if snapshots had been packaged next to config files
+    Files.copy(
+        resourcesDir.resolve("base.pkl"),
+        outputDir.resolve("base.pkl"),
+        StandardCopyOption.REPLACE_EXISTING);
+    Files.copy(
+        configFile, outputDir.resolve("application.pkl"), StandardCopyOption.REPLACE_EXISTING);
+    var loader = new PklPropertySourceLoader(pool, settings);
+    var resource = new FileSystemResource(outputDir.resolve("application.pkl"));
+    return loader.load("application", resource).get(0);
+  }
+
+  private static PklEvaluatorPool failingPool() {
+    return new PklEvaluatorPool(
+        () -> {
+          throw new AssertionError("should not evaluate");
+        },
+        1,
+        Duration.ZERO);
+  }
+
+  private static PklEvaluatorPool evaluatingPool() {
+    return new PklEvaluatorPool(() -> EvaluatorBuilder.preconfigured().build(), 1, Duration.ZERO);
+  }
+
+  private static PklSettings settings(Map<String, Object> properties) {
+    var environment = new StandardEnvironment();
+    environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+    return new PklSettings(environment);
+  }
+
+  @Test
+  public void loadsSnapshotWithoutEvaluating() throws IOException {
+    assertThat(PklSnapshotGenerator.generate(resourcesDir, outputDir, settings)).isEmpty();
+    assertThat(outputDir.resolve("application.pkl.snapshot")).exists();
+    assertThat(outputDir.resolve("base.pkl.snapshot")).doesNotExist();
+    try (var pool = failingPool()) {
+      assertThat(load(pool, settings).getProperty("x")).isEqualTo(42L);
+    }
+  }
+
+  @Test
+  public void evaluatesIfSnapshotIsStale() throws IOException {
+    PklSnapshotGenerator.generate(resourcesDir, outputDir, settings);
+    Files.writeString(configFile, "amends \"base.pkl\"\nx = 43");
+    try (var pool = evaluatingPool()) {
+      assertThat(load(pool, settings).getProperty("x")).isEqualTo(43L);
+    }
+  }
+
+  @Test
+  public void evaluatesIfEvaluatorSettingsDiffer() throws IOException {
+    PklSnapshotGenerator.generate(resourcesDir, outputDir, settings);
+    var restricted =
+        settings(
+            Map.of(
+                "pkl.snapshot.enabled", "true",
+                "pkl.evaluator.allowed-resources", "file:"));
+    try (var pool = evaluatingPool()) {
+      var propertySource = load(pool, restricted);
+      assertThat(PklLoadInfo.of(propertySource).getOrigin())
+          .isEqualTo(PklLoadInfo.Origin.EVALUATION);
+    }
+  }
+
+  @Test
+  public void isDisabledByDefault() throws IOException {
+    PklSnapshotGenerator.generate(resourcesDir, outputDir, settings);
+    try (var pool = evaluatingPool()) {
+      var propertySource = load(pool, settings(Map.of()));
+      assertThat(PklLoadInfo.of(propertySource).getOrigin())
+          .isEqualTo(PklLoadInfo.Origin.EVALUATION);
+    }
+  }
+
+  @Test
+  public void skipsConfigFilesWithDynamicDependencies() throws IOException {
+    Files.writeString(configFile, "files = import*(\"*.pkl\").keys.toList()");
+    assertThat(PklSnapshotGenerator.generate(resourcesDir, outputDir, settings))
+        .containsOnlyKeys(configFile);
+    assertThat(outputDir.resolve("application.pkl.snapshot")).doesNotExist();
+  }
+
+  @Test
+  public void skipsConfigFilesReadingEnvironment() throws IOException {
+    Files.writeString(configFile, "home = read(\"env:HOME\")\nuser = read(\"prop:user.name\")");
+    var skipped = PklSnapshotGenerator.generate(resourcesDir, outputDir, settings);
+    assertThat(skipped).containsOnlyKeys(configFile);
+    assertThat(skipped.get(configFile)).contains("env:HOME");
+    assertThat(outputDir.resolve("application.pkl.snapshot")).doesNotExist();
+  }
+}
@@ -0,0 +1,193 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.pkl.core.Evaluator;
+import org.pkl.core.ModuleSource;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyState;
+import org.springframework.core.env.MapPropertySource;
+
+public class PklPropertyMapTest {
+  @Test
+  public void hasSameEntriesAsFlattenedMap() {
+    try (var evaluator = Evaluator.preconfigured()) {
+      var module =
+          evaluator.evaluate(
+              ModuleSource.text(
+                  """
+                  server = new Dynamic {
+                    name = "default"
+                    endpoints = new Listing {
+                      for (i in IntSeq(0, 11)) {
+                        new Dynamic { name = "endpoint\\(i)"; port = 8000 + i }
+                      }
+                    }
+                    empty = new Listing {}
+                    tags = Set("a", "b")
+                  }
+                  ports = new Mapping { ["http"] = 80; ["a.b"] = null; [42] = "answer" }
+                  """));
+      var expected = new LinkedHashMap<String, Object>();
+      module
+          .getProperties()
+          .forEach((name, value) -> PklPropertySourceLoader.flatten(name, value, expected::put));
+      var map = PklPropertyMap.of(module.getProperties());
+
+      assertThat(map).containsExactlyEntriesOf(expected);
+      assertThat(map.getNames()).containsExactlyElementsOf(expected.keySet());
+      for (var name : expected.keySet()) {
+        assertThat(map.get(name)).isSameAs(expected.get(name));
+      }
+      assertThat(map.get("server.endpoints[11].port")).isEqualTo(8011L);
+      assertThat(map.get("ports.a.b")).isNotNull();
+      assertThat(map.get("ports.42")).isEqualTo("answer");
+    }
+  }
+
+  @Test
+  public void refersToLargeListsOfScalarValues() {
+    var allowlist = IntStream.range(0, 20).mapToObj((i) -> "host" + i).toList();
+    var properties = new LinkedHashMap<String, Object>();
+    properties.put("server", Map.of("allowlist", allowlist));
+    properties.put("ports", List.of(80, 443));
+    properties.put("endpoints", List.of(Map.of("port", 80)));
+    var expected = new LinkedHashMap<String, Object>();
+    properties.forEach(
+        (name, value) -> PklPropertySourceLoader.flatten(name, value, expected::put));
+    var map = PklPropertyMap.of(properties, 10);
+
+    assertThat(map).containsExactlyEntriesOf(expected);
+    assertThat(map.getNames()).containsExactlyElementsOf(expected.keySet());
+    assertThat(map.get("server.allowlist[19]")).isEqualTo("host19");
+    assertThat(map)
+        .doesNotContainKeys(
+            "server.allowlist",
+            "server.allowlist[20]",
+            "server.allowlist[01]",
+            "server.allowlist[]",
+            "server.allowlist[0].name",
+            "erver.allowlist[0]",
+            "allowlist[0]");
+  }
+
+  @Test
+  public void doesNotContainOtherNames() {
+    var map =
+        PklPropertyMap.of(
+            Map.of("server", Map.of("endpoints", List.of(Map.of("port", 80)), "ports", Set.of())));
+    assertThat(map).containsOnlyKeys("server.endpoints[0].port", "server.ports");
+    assertThat(map)
+        .doesNotContainKeys(
+            "server",
+            "server.endpoints",
+            "server.endpoints[0]",
+            "server.endpoints[1].port",
+            "server.endpoints.0.port",
+            "server.endpoints[0].port2",
+            "xserver.endpoints[0].port",
+            "endpoints[0].port");
+    assertThat(map.get(42)).isNull();
+  }
+
+  @Test
+  public void looksUpConfigurationPropertyNames() {
+    var properties = new LinkedHashMap<String, Object>();
+    properties.put(
+        "server",
+        Map.of(
+            "maxSize",
+            10,
+            "endpoints",
+            List.of(Map.of("port", 80), Map.of("port", 443)),
+            "allowlist",
+            List.of("a", "b", "c"),
+            "tags",
+            Map.of()));
+    var map = PklPropertyMap.of(properties, 3);
+    var springSource = ConfigurationPropertySource.from(new MapPropertySource("test", map));
+
+    for (var name :
+        List.of(
+            "server",
+            "server.max-size",
+            "server.maxsize",
+            "server.endpoints",
+            "server.endpoints[1]",
+            "server.endpoints[1].port",
+            "server.endpoints[2].port",
+            "server.endpoints[01].port",
+            "server.allowlist",
+            "server.allowlist[2]",
+            "server.allowlist[3]",
+            "server.tags",
+            "other")) {
+      var configurationName = ConfigurationPropertyName.of(name);
+      var expected = springSource.getConfigurationProperty(configurationName);
+      assertThat(map.get(configurationName))
+          .as(name)
+          .isEqualTo(expected != null ? expected.getValue() : null);
+      assertThat(map.containsDescendantOf(configurationName))
+          .as(name)
+          .isEqualTo(springSource.containsDescendantOf(configurationName));
+    }
+    assertThat(map.containsDescendantOf(ConfigurationPropertyName.EMPTY))
+        .isEqualTo(ConfigurationPropertyState.PRESENT);
+  }
+
+  @Test
+  public void reportsUnknownDescendantsForNamesContainingDots() {
+    var map = PklPropertyMap.of(Map.of("server", Map.of("a.b", 1)));
+    assertThat(map.get(ConfigurationPropertyName.of("server.a.b"))).isEqualTo(1);
+    assertThat(map.containsDescendantOf(ConfigurationPropertyName.of("server.a")))
+        .isEqualTo(ConfigurationPropertyState.UNKNOWN);
+  }
+
+  @Test
+  public void doesNotJoinNameElements() {
+    var map = PklPropertyMap.of(Map.of("server", Map.of("ab", 1, "foo-bar", 2)));
+    assertThat(map.get(ConfigurationPropertyName.of("server.ab"))).isEqualTo(1);
+    assertThat(map.get(ConfigurationPropertyName.of("server.a.b"))).isNull();
+    assertThat(map.get(ConfigurationPropertyName.of("server.foo-bar"))).isEqualTo(2);
+    assertThat(map.get(ConfigurationPropertyName.of("server.foo.bar"))).isNull();
+  }
+
+  @Test
+  public void keepsFirstPositionAndLastValueOfDuplicateNames() {
+    var properties = new LinkedHashMap<String, Object>();
+    properties.put("a.b", 1);
+    properties.put("c", 2);
+    properties.put("a", Map.of("b", 3));
+    var map = PklPropertyMap.of(properties);
+    assertThat(map).containsExactly(entry("a.b", 3), entry("c", 2));
+  }
+
+  @Test
+  public void isImmutable() {
+    var map = PklPropertyMap.of(Map.of("a", 1));
+    assertThatThrownBy(() -> map.put("b", 2)).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> map.remove("a")).isInstanceOf(UnsupportedOperationException.class);
+  }
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+public class PklPropertyResolverTest {
+  private final StandardEnvironment environment = new StandardEnvironment();
+  private final PklPropertyResolver resolver = new PklPropertyResolver(environment);
+
+  @Test
+  public void doesNotResolvePlaceholdersInPklValues() {
+    addPklPropertySource(Map.of("greeting", "hello ${name}", "name", "world"));
+
+    assertThat(environment.getProperty("greeting")).isEqualTo("hello world");
+    assertThat(resolver.getProperty("greeting")).isEqualTo("hello ${name}");
+  }
+
+  @Test
+  public void convertsPklValuesOnce() {
+    addPklPropertySource(Map.of("server.port", 8080L));
+
+    var port = resolver.getProperty("server.port", Integer.class);
+    assertThat(port).isEqualTo(8080);
+    assertThat(resolver.getProperty("server.port", Integer.class)).isSameAs(port);
+    assertThat(resolver.getProperty("server.port", Long.class)).isEqualTo(8080L);
+  }
+
+  @Test
+  public void delegatesToEnvironmentForOtherPropertySources() {
+    addPklPropertySource(Map.of("server.port", 8080L));
+    environment
+        .getPropertySources()
+        .addFirst(
+            new MapPropertySource("overrides", Map.of("server.port", "${port}", "port", "9090")));
+
+    assertThat(resolver.getProperty("server.port", Integer.class)).isEqualTo(9090);
+  }
+
+  @Test
+  public void reflectsReplacedPropertySources() {
+    addPklPropertySource(Map.of("server.port", 8080L));
+    assertThat(resolver.getProperty("server.port", Integer.class)).isEqualTo(8080);
+
+    environment
+        .getPropertySources()
+        .replace(
+            "application.pkl",
+            new PklMapPropertySource(
+                "application.pkl", PklPropertyMap.of(Map.of("server.port", 8081L)), null, null));
+
+    assertThat(resolver.getProperty("server.port", Integer.class)).isEqualTo(8081);
+  }
+
+  @Test
+  public void handlesMissingProperties() {
+    addPklPropertySource(Map.of("server.port", 8080L));
+
+    assertThat(resolver.containsProperty("server.port")).isTrue();
+    assertThat(resolver.containsProperty("server.host")).isFalse();
+    assertThat(resolver.getProperty("server.host")).isNull();
+    assertThat(resolver.getProperty("server.host", "localhost")).isEqualTo("localhost");
+    assertThatIllegalStateException()
+        .isThrownBy(() -> resolver.getRequiredProperty("server.host"))
+        .withMessage("Required key 'server.host' not found");
+  }
+
+  private void addPklPropertySource(Map<String, Object> properties) {
+    environment
+        .getPropertySources()
+        .addFirst(
+            new PklMapPropertySource("application.pkl", PklPropertyMap.of(properties), null, null));
+  }
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.pkl.core.*;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+
+public class PklPropertySourceTest {
+  private static PModule module;
+  private static Map<String, Object> flattened;
+
+  @BeforeAll
+  public static void evaluate() {
+    try (var evaluator = EvaluatorBuilder.preconfigured().build()) {
+      module = evaluator.evaluate(ModuleSource.modulePath("/application.pkl"));
+    }
+    flattened = new LinkedHashMap<>();
+    module
+        .getProperties()
+        .forEach((name, value) -> PklPropertySourceLoader.flatten(name, value, flattened::put));
+  }
+
+  @Test
+  public void hasSamePropertiesAsFlattenedModule() {
+    var source = new PklPropertySource("test", module);
+    assertThat(source.getPropertyNames()).containsExactlyElementsOf(flattened.keySet());
+    flattened.forEach(
+        (name, value) -> {
+          assertThat(source.containsProperty(name)).as(name).isTrue();
+          assertThat(source.getProperty(name)).as(name).isEqualTo(value);
+        });
+  }
+
+  @Test
+  public void doesNotResolveNonLeafOrUnknownProperties() {
+    var source = new PklPropertySource("test", module);
+    for (var name :
+        List.of(
+            "",
+            "typedPigeon",
+            "simpleList",
+            "simpleList[2]",
+            "simpleList[-1]",
+            "simpleList.0",
+            "simpleMap[Pigeon]",
+            "typedPigeon.addresses[0].street.x",
+            "typedPigeon..name",
+            "unknown")) {
+      assertThat(source.containsProperty(name)).as(name).isFalse();
+      assertThat(source.getProperty(name)).as(name).isNull();
+    }
+  }
+
+  @Test
+  public void resolvesKeysContainingSeparators() {
+    PModule module;
+    try (var evaluator = EvaluatorBuilder.preconfigured().build()) {
+      module =
+          evaluator.evaluate(
+              ModuleSource.text(
+                  """
+                  map = new Mapping { ["a.b"] = 1; ["a"] = new Mapping { ["c"] = 2 }; ["x[0]"] = 3 }
+                  """));
+    }
+    var source = new PklPropertySource("test", module);
+    assertThat(source.getProperty("map.a.b")).isEqualTo(1L);
+    assertThat(source.getProperty("map.a.c")).isEqualTo(2L);
+    assertThat(source.getProperty("map.x[0]")).isEqualTo(3L);
+  }
+
+  @Test
+  public void doesNotJoinNameElements() {
+    PModule module;
+    try (var evaluator = EvaluatorBuilder.preconfigured().build()) {
+      module =
+          evaluator.evaluate(
+              ModuleSource.text(
+                  """
+                  map = new Mapping { ["ab"] = 1; ["foo-bar"] = 2; ["x.y"] = 3 }
+                  """));
+    }
+    var source = new PklConfigurationPropertySource(new PklPropertySource("test", module));
+    assertThat(source.getConfigurationProperty(ConfigurationPropertyName.of("map.ab"))).isNotNull();
+    assertThat(source.getConfigurationProperty(ConfigurationPropertyName.of("map.a.b"))).isNull();
+    assertThat(source.getConfigurationProperty(ConfigurationPropertyName.of("map.foo.bar")))
+        .isNull();
+    assertThat(source.getConfigurationProperty(ConfigurationPropertyName.of("map.x.y")))
+        .isNotNull();
+    assertThat(source.getConfigurationProperty(ConfigurationPropertyName.of("map.xy"))).isNull();
+  }
+}
@@ -0,0 +1,114 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Map;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultBootstrapContext;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.metrics.ApplicationStartup;
+
+public class PklStartupTest {
+  @Test
+  public void keepsSettingsAndPoolPerStartup() {
+    var outerContext = new DefaultBootstrapContext();
+    var outer = PklStartup.start(outerContext, new SpringApplication(), settings("2"));
+    var outerPool = outer.getEvaluatorPool();
+
+    var innerContext = new DefaultBootstrapContext();
+    var inner = PklStartup.start(innerContext, new SpringApplication(), settings("3"));
+    assertThat(PklStartup.current()).isSameAs(inner);
+    assertThat(PklStartup.get(outerContext)).isSameAs(outer);
+    assertThat(inner.getSettings().getPoolMaxSize()).isEqualTo(3);
+    assertThat(inner.getEvaluatorPool()).isNotSameAs(outerPool);
+
+    var applicationContext = new GenericApplicationContext();
+    applicationContext
+        .getEnvironment()
+        .getPropertySources()
+        .addFirst(
+            new PklMapPropertySource(
+                "application.pkl", PklPropertyMap.of(Map.of("x", 1L)), null, null));
+    innerContext.close(applicationContext);
+    assertThat(applicationContext.getBeanFactory().getSingleton(PklStartup.SETTINGS_BEAN_NAME))
+        .isSameAs(inner.getSettings());
+    // closing one startup leaves the other one alone
+    assertThat(PklStartup.current()).isSameAs(outer);
+    assertThat(outer.getEvaluatorPool()).isSameAs(outerPool);
+    assertThat(outer.getSettings().getPoolMaxSize()).isEqualTo(2);
+
+    // no Pkl config files were loaded
+    var otherContext = new GenericApplicationContext();
+    outerContext.close(otherContext);
+    assertThat(PklStartup.current()).isNotSameAs(outer);
+    assertThat(otherContext.getBeanFactory().containsSingleton(PklStartup.SETTINGS_BEAN_NAME))
+        .isFalse();
+  }
+
+  @Test
+  public void isCurrentOnlyForStartingThread() throws Exception {
+    var bootstrapContext = new DefaultBootstrapContext();
+    var startup = PklStartup.start(bootstrapContext, new SpringApplication(), settings("2"));
+    var executor = Executors.newSingleThreadExecutor();
+    try {
+      assertThat(executor.submit(PklStartup::current).get()).isNotSameAs(startup);
+    } finally {
+      executor.shutdown();
+      startup.close();
+    }
+  }
+
+  @Test
+  public void closesStartupOfFailedApplication() {
+    var application = new SpringApplication();
+    var startup = PklStartup.start(new DefaultBootstrapContext(), application, settings("2"));
+    PklStartup.close(new SpringApplication());
+    assertThat(PklStartup.current()).isSameAs(startup);
+    PklStartup.close(application);
+    assertThat(PklStartup.current()).isNotSameAs(startup);
+  }
+
+  @Test
+  public void releasesApplicationStartupOnClose() {
+    var application = new SpringApplication();
+    var applicationStartup = new BufferingApplicationStartup(16);
+    application.setApplicationStartup(applicationStartup);
+    var startup = PklStartup.start(new DefaultBootstrapContext(), application, settings("2"));
+    PklInstrumentation.start("pkl.test").end();
+    assertThat(applicationStartup.getBufferedTimeline().getEvents()).hasSize(1);
+
+    startup.close();
+    assertThat(startup.getApplicationStartup()).isSameAs(ApplicationStartup.DEFAULT);
+    PklInstrumentation.start("pkl.test").end();
+    assertThat(applicationStartup.getBufferedTimeline().getEvents()).hasSize(1);
+  }
+
+  private static PklSettings settings(String poolMaxSize) {
+    var environment = new StandardEnvironment();
+    environment
+        .getPropertySources()
+        .addFirst(
+            new MapPropertySource("test", Map.of("pkl.evaluator.pool.max-size", poolMaxSize)));
+    return new PklSettings(environment);
+  }
+}
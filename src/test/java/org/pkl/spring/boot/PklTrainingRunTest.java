@@ -0,0 +1,54 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.pkl.core.EvaluatorBuilder;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+
+public class PklTrainingRunTest {
+  @Test
+  public void evaluatesPklConfigFiles() throws Exception {
+    var environment = new StandardEnvironment();
+    try (var pool =
+        new PklEvaluatorPool(() -> EvaluatorBuilder.preconfigured().build(), 1, Duration.ZERO)) {
+      var propertySource =
+          new PklPropertySourceLoader(pool)
+              .load("application", new ClassPathResource("application.pkl"))
+              .get(0);
+      environment.getPropertySources().addFirst(propertySource);
+    }
+
+    try (var pool =
+        new PklEvaluatorPool(() -> EvaluatorBuilder.preconfigured().build(), 1, Duration.ZERO)) {
+      assertThat(PklTrainingRun.train(environment, pool, new PklSettings(environment)))
+          .isEqualTo(1);
+    }
+  }
+
+  @Test
+  public void ignoresOtherPropertySources() {
+    var environment = new StandardEnvironment();
+    try (var pool =
+        new PklEvaluatorPool(() -> EvaluatorBuilder.preconfigured().build(), 1, Duration.ZERO)) {
+      assertThat(PklTrainingRun.train(environment, pool, new PklSettings(environment))).isZero();
+    }
+  }
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.pkl.core.DataSize;
+import org.pkl.core.DataSizeUnit;
+import org.pkl.core.Duration;
+import org.pkl.core.DurationUnit;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+
+public class PklValueConverterTest {
+  private final PklValueConverter converter = new PklValueConverter();
+
+  @Test
+  public void convertsDuration() {
+    var duration = new Duration(1.5, DurationUnit.SECONDS);
+    assertThat(convert(duration, java.time.Duration.class))
+        .isEqualTo(java.time.Duration.ofMillis(1500));
+    assertThat(convert(duration, String.class)).isEqualTo("PT1.5S");
+    assertThat(convert(duration, Long.class)).isEqualTo(1500L);
+    assertThat(convert(duration, Integer.class)).isEqualTo(1500);
+  }
+
+  @Test
+  public void convertsDataSize() {
+    var dataSize = new DataSize(2, DataSizeUnit.KIBIBYTES);
+    assertThat(convert(dataSize, org.springframework.util.unit.DataSize.class))
+        .isEqualTo(org.springframework.util.unit.DataSize.ofKilobytes(2));
+    assertThat(convert(dataSize, String.class)).isEqualTo("2048B");
+    assertThat(convert(dataSize, Long.class)).isEqualTo(2048L);
+  }
+
+  @Test
+  public void memoizesConvertedValues() {
+    var duration = new Duration(3, DurationUnit.HOURS);
+    assertThat(convert(duration, java.time.Duration.class))
+        .isSameAs(convert(duration, java.time.Duration.class));
+    assertThat(convert(duration, String.class)).isSameAs(convert(duration, String.class));
+    var dataSize = new DataSize(1, DataSizeUnit.MEGABYTES);
+    assertThat(convert(dataSize, String.class)).isSameAs(convert(dataSize, String.class));
+  }
+
+  @Test
+  public void convertsStringsBackToSameValue() {
+    var conversionService = new ApplicationConversionService();
+    var duration = new Duration(90, DurationUnit.MINUTES);
+    assertThat(conversionService.convert(convert(duration, String.class), java.time.Duration.class))
+        .isEqualTo(java.time.Duration.ofMinutes(90));
+  }
+
+  private Object convert(Object source, Class<?> targetType) {
+    return converter.convert(
+        source, TypeDescriptor.forObject(source), TypeDescriptor.valueOf(targetType));
+  }
+}
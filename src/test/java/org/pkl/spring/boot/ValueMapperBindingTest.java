@@ -0,0 +1,77 @@
+/**
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.spring.boot;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.pkl.core.Duration;
+import org.pkl.core.DurationUnit;
+import org.pkl.core.Pair;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+@SpringBootTest(
+    classes = {ConfigTestApp.class},
+    properties = {"pkl.binding.mode=value-mapper"})
+public class ValueMapperBindingTest {
+  @Autowired
+  @SuppressWarnings("unused")
+  private AppConfig appConfig;
+
+  @Test
+  public void mapsConfigClass() {
+    assertThat(appConfig.getIntProp()).isEqualTo(42L);
+    assertThat(appConfig.getInt32()).isEqualTo(-42);
+    assertThat(appConfig.getString()).isEqualTo("string");
+    assertThat(appConfig.getDuration()).isEqualTo(new Duration(3, DurationUnit.HOURS));
+    assertThat(appConfig.getPair()).isEqualTo(new Pair<>("hello", true));
+    assertThat(appConfig.getSize()).isEqualTo(AppConfig.Size.SMALL);
+    assertThat(appConfig.getSimpleList()).containsExactly("Pigeon", "Parrot");
+    assertThat(appConfig.getNullablePigeon2()).isNull();
+
+    var pigeon = appConfig.getTypedPigeon();
+    assertThat(pigeon).isNotNull();
+    assertThat(pigeon.getName()).isEqualTo("Pigeon");
+    assertThat(pigeon.getAddresses())
+        .containsExactly(
+            new AppConfig.Address("Wilmore St.", 94102),
+            new AppConfig.Address("Leisure St.", 93118));
+  }
+
+  @Test
+  public void mapsDynamicObjects() {
+    // unlike Spring Boot's binder, Pkl's value mapper supports `Dynamic`
+    assertThat(appConfig.getDynamicPigeon()).isNotNull();
+  }
+
+  @Nested
+  @TestPropertySource(properties = {"int32=7"})
+  public class Overridden {
+    @Autowired
+    @SuppressWarnings("unused")
+    private AppConfig overriddenConfig;
+
+    @Test
+    public void fallsBackToBinder() {
+      assertThat(overriddenConfig.getInt32()).isEqualTo(7);
+      assertThat(overriddenConfig.getIntProp()).isEqualTo(42L);
+      assertThat(overriddenConfig.getDynamicPigeon()).isNull();
+    }
+  }
+}